@@ -1,7 +1,11 @@
 -- Smart Parking Backend - PostgreSQL Database Schema
--- This schema matches your JPA entity definitions
+-- Reference copy with optional views, functions and sample data. The application's schema is created and
+-- upgraded by the Flyway migrations in db/migration (SQL under src/main/resources, Java under src/main/java).
 
 -- Drop existing tables if they exist (careful in production!)
+DROP TABLE IF EXISTS usage_rollups CASCADE;
+DROP TABLE IF EXISTS billing_recalculations CASCADE;
+DROP TABLE IF EXISTS parking_sessions CASCADE;
 DROP TABLE IF EXISTS vehicles CASCADE;
 DROP TABLE IF EXISTS parking_slots CASCADE;
 DROP TABLE IF EXISTS floors CASCADE;
@@ -12,7 +16,7 @@ DROP TABLE IF EXISTS employees CASCADE;
 -- TABLE: employees
 -- =============================================================================
 CREATE TABLE employees (
-    emp_id VARCHAR(255) PRIMARY KEY,
+    emp_id VARCHAR(36) PRIMARY KEY,
     name VARCHAR(255) NOT NULL,
     email VARCHAR(255) NOT NULL UNIQUE,
     ph_no VARCHAR(255),
@@ -32,7 +36,7 @@ CREATE INDEX idx_employees_email ON employees(email);
 -- TABLE: parking_lots
 -- =============================================================================
 CREATE TABLE parking_lots (
-    parking_lot_id VARCHAR(255) PRIMARY KEY,
+    parking_lot_id VARCHAR(36) PRIMARY KEY,
     name VARCHAR(255) NOT NULL,
     address VARCHAR(500),
     total_floors INTEGER,
@@ -47,11 +51,11 @@ CREATE INDEX idx_parking_lots_name ON parking_lots(name);
 -- TABLE: floors
 -- =============================================================================
 CREATE TABLE floors (
-    floor_id VARCHAR(255) PRIMARY KEY,
+    floor_id VARCHAR(36) PRIMARY KEY,
     floor_no INTEGER NOT NULL,
     total_slots INTEGER NOT NULL,
     allotted_slots INTEGER NOT NULL,
-    parking_lot_id VARCHAR(255) NOT NULL,
+    parking_lot_id VARCHAR(36) NOT NULL,
     CONSTRAINT fk_floors_parking_lot
         FOREIGN KEY (parking_lot_id)
         REFERENCES parking_lots(parking_lot_id)
@@ -67,10 +71,11 @@ CREATE INDEX idx_floors_lot_floor_no ON floors(parking_lot_id, floor_no);
 -- TABLE: parking_slots
 -- =============================================================================
 CREATE TABLE parking_slots (
-    slot_id VARCHAR(255) PRIMARY KEY,
+    slot_id VARCHAR(36) PRIMARY KEY,
     slot_status VARCHAR(50) NOT NULL CHECK (slot_status IN ('AVAILABLE', 'OCCUPIED', 'RESERVED', 'MAINTENANCE')),
     slot_type VARCHAR(50) NOT NULL CHECK (slot_type IN ('TWO_WHEELER', 'FOUR_WHEELER', 'HEAVY_VEHICLE')),
-    floor_id VARCHAR(255) NOT NULL,
+    floor_id VARCHAR(36) NOT NULL,
+    version BIGINT DEFAULT 0 NOT NULL,
     CONSTRAINT fk_parking_slots_floor
         FOREIGN KEY (floor_id)
         REFERENCES floors(floor_id)
@@ -88,26 +93,96 @@ CREATE INDEX idx_parking_slots_status_type ON parking_slots(slot_status, slot_ty
 -- TABLE: vehicles
 -- =============================================================================
 CREATE TABLE vehicles (
-    vehicle_id VARCHAR(255) PRIMARY KEY,
+    vehicle_id VARCHAR(36) PRIMARY KEY,
     vehicle_type VARCHAR(50) NOT NULL CHECK (vehicle_type IN ('TWO_WHEELER', 'FOUR_WHEELER', 'HEAVY_VEHICLE')),
-    vehicle_registration VARCHAR(255) NOT NULL UNIQUE,
+    vehicle_registration VARCHAR(255) NOT NULL,
     time_in TIMESTAMP(6) NOT NULL,
     time_out TIMESTAMP(6),
     status VARCHAR(50) NOT NULL CHECK (status IN ('PARKED', 'EXITED', 'IN_PROCESS')),
     bill_amt DOUBLE PRECISION,
-    assigned_slot_id VARCHAR(255) UNIQUE,
+    assigned_slot_id VARCHAR(36) UNIQUE,
+    -- vehicle_registration while PARKED, NULL otherwise (maintained by the application)
+    active_registration VARCHAR(255),
+    version BIGINT DEFAULT 0 NOT NULL,
     CONSTRAINT fk_vehicles_parking_slot
         FOREIGN KEY (assigned_slot_id)
         REFERENCES parking_slots(slot_id)
-        ON DELETE SET NULL
+        ON DELETE SET NULL,
+    -- At most one PARKED session per registration
+    CONSTRAINT uk_vehicles_active_registration UNIQUE (active_registration)
 );
 
 -- Indexes for faster vehicle searches
-CREATE INDEX idx_vehicles_registration ON vehicles(vehicle_registration);
-CREATE INDEX idx_vehicles_status ON vehicles(status);
-CREATE INDEX idx_vehicles_time_in ON vehicles(time_in);
+-- Entry/exit lookup by plate and status
+CREATE INDEX idx_vehicles_registration_status ON vehicles(vehicle_registration, status);
+-- Listings filtered by status and ordered by entry time
+CREATE INDEX idx_vehicles_status_time_in ON vehicles(status, time_in);
 CREATE INDEX idx_vehicles_assigned_slot ON vehicles(assigned_slot_id);
 
+-- =============================================================================
+-- TABLE: parking_sessions
+-- =============================================================================
+-- Append-only history: one row per completed visit, written on exit.
+-- For very large histories this table can be range-partitioned on time_out.
+CREATE TABLE parking_sessions (
+    session_id VARCHAR(36) PRIMARY KEY,
+    vehicle_id VARCHAR(36) NOT NULL,
+    slot_id VARCHAR(36),
+    vehicle_type VARCHAR(50) NOT NULL CHECK (vehicle_type IN ('TWO_WHEELER', 'FOUR_WHEELER', 'HEAVY_VEHICLE')),
+    time_in TIMESTAMP(6) NOT NULL,
+    time_out TIMESTAMP(6) NOT NULL,
+    amount DOUBLE PRECISION,
+    CONSTRAINT fk_parking_sessions_vehicle
+        FOREIGN KEY (vehicle_id)
+        REFERENCES vehicles(vehicle_id)
+        ON DELETE CASCADE
+);
+
+-- Revenue and utilisation scans by exit time
+CREATE INDEX idx_parking_sessions_time_out ON parking_sessions(time_out);
+-- Visit history of one vehicle
+CREATE INDEX idx_parking_sessions_vehicle_time_in ON parking_sessions(vehicle_id, time_in);
+
+-- =============================================================================
+-- TABLE: billing_recalculations
+-- =============================================================================
+-- Re-pricing runs; last_time_out/last_session_id is the resume position
+CREATE TABLE billing_recalculations (
+    recalculation_id VARCHAR(36) PRIMARY KEY,
+    range_from TIMESTAMP(6) NOT NULL,
+    range_to TIMESTAMP(6) NOT NULL,
+    status VARCHAR(50) NOT NULL CHECK (status IN ('PENDING', 'RUNNING', 'COMPLETED', 'CANCELLED', 'FAILED', 'INTERRUPTED')),
+    sessions_processed BIGINT NOT NULL,
+    sessions_changed BIGINT NOT NULL,
+    amount_delta DOUBLE PRECISION NOT NULL,
+    last_time_out TIMESTAMP(6),
+    last_session_id VARCHAR(36),
+    error VARCHAR(1000),
+    created_at TIMESTAMP(6) NOT NULL,
+    finished_at TIMESTAMP(6)
+);
+
+-- =============================================================================
+-- TABLE: usage_rollups
+-- =============================================================================
+-- Hour and day buckets per floor and slot type; analytics endpoints read only this table
+CREATE TABLE usage_rollups (
+    rollup_id VARCHAR(36) PRIMARY KEY,
+    granularity VARCHAR(50) NOT NULL CHECK (granularity IN ('HOUR', 'DAY')),
+    bucket_start TIMESTAMP(6) NOT NULL,
+    parking_lot_id VARCHAR(36) NOT NULL,
+    floor_id VARCHAR(36) NOT NULL,
+    slot_type VARCHAR(50) NOT NULL CHECK (slot_type IN ('TWO_WHEELER', 'FOUR_WHEELER', 'HEAVY_VEHICLE')),
+    entries BIGINT NOT NULL,
+    exits BIGINT NOT NULL,
+    occupied_minutes DOUBLE PRECISION NOT NULL,
+    revenue DOUBLE PRECISION NOT NULL,
+    CONSTRAINT uk_usage_rollups_bucket UNIQUE (granularity, bucket_start, floor_id, slot_type)
+);
+
+-- Chart queries for one lot over a time range
+CREATE INDEX idx_usage_rollups_lot_bucket ON usage_rollups(granularity, parking_lot_id, bucket_start);
+
 -- =============================================================================
 -- VIEWS (Optional - for convenience)
 -- =============================================================================
@@ -201,7 +276,7 @@ VALUES
 
 -- Function to get available slots count by type
 CREATE OR REPLACE FUNCTION get_available_slots_count(
-    p_parking_lot_id VARCHAR(255),
+    p_parking_lot_id VARCHAR(36),
     p_slot_type VARCHAR(50)
 )
 RETURNS INTEGER AS $$
@@ -241,6 +316,7 @@ GRANT SELECT ON ALL TABLES IN SCHEMA public TO smartparking_user;
 -- SELECT * FROM floors;
 -- SELECT * FROM parking_slots LIMIT 10;
 -- SELECT * FROM vehicles;
+-- SELECT * FROM parking_sessions ORDER BY time_out DESC LIMIT 10;
 -- SELECT * FROM active_parking_sessions;
 -- SELECT * FROM parking_lot_occupancy;
 -- SELECT * FROM available_slots_by_type;
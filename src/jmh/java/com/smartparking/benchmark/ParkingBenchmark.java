@@ -0,0 +1,137 @@
+package com.smartparking.benchmark;
+
+import com.smartparking.SmartParkingApplication;
+import com.smartparking.dto.request.FloorRequest;
+import com.smartparking.dto.request.ParkingLotRequest;
+import com.smartparking.dto.request.VehicleEntryRequest;
+import com.smartparking.dto.response.FloorResponse;
+import com.smartparking.dto.response.ParkingLotResponse;
+import com.smartparking.enums.SlotType;
+import com.smartparking.enums.VehicleType;
+import com.smartparking.service.ParkingLotService;
+import com.smartparking.service.ParkingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Park/exit and floor listing through the real services against in-memory H2.
+// Thread count is a runner option: -t 1, -t 4, ...
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParkingBenchmark {
+
+    private static final int SLOTS_PER_FLOOR = 1000;
+
+    @Param({"100", "1000", "10000", "100000"})
+    private int slots;
+
+    private ConfigurableApplicationContext context;
+    private ParkingService parkingService;
+    private ParkingLotService parkingLotService;
+    private String firstFloorId;
+
+    private final AtomicInteger threadIds = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(SmartParkingApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("h2")
+                // Passed as arguments so they override application*.properties
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.smartparking=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN");
+        parkingService = context.getBean(ParkingService.class);
+        parkingLotService = context.getBean(ParkingLotService.class);
+
+        ParkingLotResponse lot = parkingLotService.createParkingLot(ParkingLotRequest.builder()
+                .name("Benchmark lot " + slots)
+                .address("Benchmark")
+                .totalFloors((slots + SLOTS_PER_FLOOR - 1) / SLOTS_PER_FLOOR)
+                .build());
+
+        List<String> floorIds = new ArrayList<>();
+        for (int floorNo = 0, remaining = slots; remaining > 0; floorNo++, remaining -= SLOTS_PER_FLOOR) {
+            FloorResponse floor = parkingLotService.addFloor(FloorRequest.builder()
+                    .parkingLotId(lot.getParkingLotId())
+                    .floorNo(floorNo)
+                    .slotConfiguration(slotMix(Math.min(remaining, SLOTS_PER_FLOOR)))
+                    .build());
+            floorIds.add(floor.getFloorId());
+        }
+        firstFloorId = floorIds.get(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    // Each benchmark thread parks and exits its own registrations, so threads never collide on a vehicle
+    @State(Scope.Thread)
+    public static class Gate {
+        private String prefix;
+        private long sequence;
+
+        @Setup(Level.Trial)
+        public void setUp(ParkingBenchmark benchmark) {
+            prefix = "BM" + benchmark.threadIds.incrementAndGet() + "-";
+        }
+
+        String nextRegistration() {
+            return prefix + (sequence++);
+        }
+    }
+
+    @Benchmark
+    public Object parkAndExit(Gate gate) {
+        String registration = gate.nextRegistration();
+        parkingService.parkVehicle(VehicleEntryRequest.builder()
+                .vehicleType(VehicleType.FOUR_WHEELER)
+                .vehicleRegistration(registration)
+                .build());
+        return parkingService.exitVehicle(registration);
+    }
+
+    @Benchmark
+    public FloorResponse getFloor() {
+        return parkingLotService.getFloorById(firstFloorId);
+    }
+
+    private static Map<SlotType, Integer> slotMix(int floorSlots) {
+        // Roughly the seeded lot's mix: 40% two-wheeler, 50% four-wheeler, 10% heavy
+        Map<SlotType, Integer> mix = new EnumMap<>(SlotType.class);
+        int twoWheeler = floorSlots * 4 / 10;
+        int heavy = floorSlots / 10;
+        mix.put(SlotType.TWO_WHEELER, twoWheeler);
+        mix.put(SlotType.HEAVY_VEHICLE, heavy);
+        mix.put(SlotType.FOUR_WHEELER, floorSlots - twoWheeler - heavy);
+        return mix;
+    }
+}
@@ -0,0 +1,101 @@
+package com.smartparking.benchmark;
+
+import com.smartparking.enums.VehicleType;
+import com.smartparking.service.strategy.DefaultPricingStrategy;
+import com.smartparking.service.strategy.PricingStrategy;
+import com.smartparking.service.strategy.tariff.TariffBook;
+import com.smartparking.service.strategy.tariff.TariffDefinition;
+import com.smartparking.service.strategy.tariff.TariffFile;
+import com.smartparking.service.strategy.tariff.TariffRate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PricingBenchmark {
+
+    @Param({"TWO_WHEELER", "FOUR_WHEELER", "HEAVY_VEHICLE"})
+    private VehicleType vehicleType;
+
+    private final PricingStrategy pricingStrategy = new DefaultPricingStrategy();
+    private final TariffBook flatTariffs = TariffBook.builtIn();
+    private TariffBook timeOfDayTariffs;
+    private Duration[] durations;
+    private LocalDateTime[] entryTimes;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        // A spread of stays from a few minutes to two days, so branches are not perfectly predicted
+        durations = new Duration[1024];
+        for (int i = 0; i < durations.length; i++) {
+            durations[i] = Duration.ofMinutes((i * 37L) % (48 * 60));
+        }
+
+        entryTimes = new LocalDateTime[durations.length];
+        LocalDateTime monday = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int i = 0; i < entryTimes.length; i++) {
+            entryTimes[i] = monday.plusMinutes((i * 131L) % (7 * 24 * 60));
+        }
+
+        // Weekday peak, weekend and overnight windows with a daily cap on every type
+        List<TariffDefinition> tariffs = new ArrayList<>();
+        for (VehicleType type : VehicleType.values()) {
+            tariffs.add(TariffDefinition.builder()
+                    .vehicleType(type)
+                    .hourlyRate(20.0)
+                    .dailyCap(250.0)
+                    .rates(List.of(
+                            new TariffRate(EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY),
+                                    LocalTime.of(8, 0), LocalTime.of(20, 0), 30.0),
+                            new TariffRate(EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY),
+                                    LocalTime.MIDNIGHT, LocalTime.MIDNIGHT, 15.0),
+                            new TariffRate(EnumSet.noneOf(DayOfWeek.class),
+                                    LocalTime.of(22, 0), LocalTime.of(6, 0), 10.0)))
+                    .build());
+        }
+        TariffFile file = new TariffFile();
+        file.setTariffs(tariffs);
+        timeOfDayTariffs = TariffBook.compile(file);
+    }
+
+    @Benchmark
+    public double calculatePrice() {
+        next = (next + 1) & (durations.length - 1);
+        return pricingStrategy.calculatePrice(vehicleType, durations[next]);
+    }
+
+    @Benchmark
+    public double flatTariff() {
+        next = (next + 1) & (durations.length - 1);
+        return flatTariffs.price(vehicleType, null, entryTimes[next], durations[next].toMinutes());
+    }
+
+    @Benchmark
+    public double timeOfDayTariff() {
+        next = (next + 1) & (durations.length - 1);
+        return timeOfDayTariffs.price(vehicleType, null, entryTimes[next], durations[next].toMinutes());
+    }
+}
@@ -0,0 +1,78 @@
+package com.smartparking.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.smartparking.dto.response.ApiResponse;
+import com.smartparking.dto.response.FloorResponse;
+import com.smartparking.dto.response.ParkingSlotResponse;
+import com.smartparking.enums.SlotStatus;
+import com.smartparking.enums.SlotType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// JSON encoding of a floor listing as the controllers return it, without the database
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseEncodingBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    private int slots;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<FloorResponse> response;
+
+    @Setup
+    public void setUp() {
+        // Same settings as the application's spring.jackson.* properties
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        String floorId = UUID.randomUUID().toString();
+        List<ParkingSlotResponse> slotResponses = new ArrayList<>(slots);
+        SlotType[] slotTypes = SlotType.values();
+        for (int i = 0; i < slots; i++) {
+            slotResponses.add(ParkingSlotResponse.builder()
+                    .slotId(UUID.randomUUID().toString())
+                    .slotStatus(i % 3 == 0 ? SlotStatus.OCCUPIED : SlotStatus.AVAILABLE)
+                    .slotType(slotTypes[i % slotTypes.length])
+                    .floorId(floorId)
+                    .currentVehicleId(i % 3 == 0 ? UUID.randomUUID().toString() : null)
+                    .build());
+        }
+
+        response = ApiResponse.success("Floor retrieved successfully", FloorResponse.builder()
+                .floorId(floorId)
+                .floorNo(1)
+                .totalSlots(slots)
+                .allottedSlots(slots / 3)
+                .availableSlots(slots - slots / 3)
+                .parkingLotId(UUID.randomUUID().toString())
+                .slots(slotResponses)
+                .build());
+    }
+
+    @Benchmark
+    public byte[] encodeFloorResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
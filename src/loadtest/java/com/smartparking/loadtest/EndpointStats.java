@@ -0,0 +1,65 @@
+package com.smartparking.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latency and outcome counts for one endpoint. Latency is measured from the intended send
+// time, so a stalled server shows up in the percentiles instead of lowering the offered load.
+final class EndpointStats {
+
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final String name;
+    private final Recorder recorder = new Recorder(MAX_LATENCY_NANOS, 3);
+    private final Histogram total = new Histogram(MAX_LATENCY_NANOS, 3);
+    private final Histogram interval = new Histogram(MAX_LATENCY_NANOS, 3);
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    void record(long latencyNanos, String outcome, boolean error) {
+        recorder.recordValue(Math.min(latencyNanos, MAX_LATENCY_NANOS));
+        requests.increment();
+        if (error) {
+            errors.increment();
+        }
+        outcomes.computeIfAbsent(outcome, k -> new LongAdder()).increment();
+    }
+
+    // Moves what was recorded since the last call into the running total; not thread-safe, call from one reporter
+    Histogram drainInterval() {
+        interval.reset();
+        recorder.getIntervalHistogramInto(interval);
+        total.add(interval);
+        return interval;
+    }
+
+    String name() {
+        return name;
+    }
+
+    Histogram total() {
+        return total;
+    }
+
+    long requests() {
+        return requests.sum();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    Map<String, LongAdder> outcomes() {
+        return outcomes;
+    }
+}
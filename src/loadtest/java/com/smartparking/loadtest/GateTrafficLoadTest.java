@@ -0,0 +1,276 @@
+package com.smartparking.loadtest;
+
+import com.smartparking.enums.VehicleType;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Open-model gate traffic against a running instance: vehicles arrive as a Poisson process,
+// park, stay for a sampled dwell time and exit, while display boards poll availability.
+// With --clients=N it runs a closed model instead: N clients each park, poll availability and exit
+// back to back, so exactly N requests are in flight, which is how thread-per-request limits show up.
+// Start the server with the loadtest profile so the default "loadtest:<uid>" token is accepted.
+public final class GateTrafficLoadTest {
+
+    private final LoadTestOptions options;
+    private final HttpClient client;
+    private final ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor();
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong vehicles = new AtomicLong();
+    private final AtomicLong stillParked = new AtomicLong();
+
+    private final EndpointStats entryStats = new EndpointStats("POST /api/parking/entry");
+    private final EndpointStats exitStats = new EndpointStats("POST /api/parking/exit/{registration}");
+    private final EndpointStats availabilityStats = new EndpointStats("GET /api/parking-lots/availability");
+    private final List<EndpointStats> allStats = List.of(entryStats, exitStats, availabilityStats);
+
+    private GateTrafficLoadTest(LoadTestOptions options) {
+        this.options = options;
+        this.client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(options.requestTimeout())
+                .build();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        new GateTrafficLoadTest(LoadTestOptions.parse(args)).run();
+    }
+
+    private void run() throws InterruptedException {
+        if (options.clients() > 0) {
+            runClients();
+            return;
+        }
+        System.out.printf("Driving %s for %ds: %.1f arrivals/s, %s dwell (mean %.1fs), %.1f availability polls/s%n",
+                options.baseUrl(), options.duration().toSeconds(), options.arrivalsPerSecond(),
+                options.dwellDistribution(), options.dwellMean().toMillis() / 1000.0,
+                options.availabilityPollsPerSecond());
+
+        long start = System.nanoTime();
+        long end = start + options.duration().toNanos();
+
+        Thread arrivals = Thread.ofPlatform().name("arrivals").start(() -> generate(
+                options.arrivalsPerSecond(), end, this::arrive));
+        Thread boards = Thread.ofPlatform().name("boards").start(() -> generate(
+                options.availabilityPollsPerSecond(), end, this::pollAvailability));
+        Thread reporter = Thread.ofPlatform().daemon().name("reporter").start(() -> report(start));
+
+        arrivals.join();
+        boards.join();
+
+        // Let parked vehicles leave, but do not wait forever on a long dwell tail
+        requests.shutdown();
+        long drainMillis = Math.max(options.dwellMean().toMillis() * 5, options.requestTimeout().toMillis());
+        if (!requests.awaitTermination(drainMillis, TimeUnit.MILLISECONDS)) {
+            requests.shutdownNow();
+        }
+        reporter.interrupt();
+
+        printSummary(System.nanoTime() - start);
+    }
+
+    private void runClients() throws InterruptedException {
+        System.out.printf("Driving %s for %ds with %d concurrent clients%n",
+                options.baseUrl(), options.duration().toSeconds(), options.clients());
+
+        long start = System.nanoTime();
+        long end = start + options.duration().toNanos();
+        Thread reporter = Thread.ofPlatform().daemon().name("reporter").start(() -> report(start));
+
+        for (int i = 0; i < options.clients(); i++) {
+            requests.execute(() -> {
+                while (System.nanoTime() < end && !Thread.currentThread().isInterrupted()) {
+                    visit();
+                }
+            });
+        }
+        requests.shutdown();
+        if (!requests.awaitTermination(options.duration().plus(options.requestTimeout()).toMillis(),
+                TimeUnit.MILLISECONDS)) {
+            requests.shutdownNow();
+        }
+        reporter.interrupt();
+
+        printSummary(System.nanoTime() - start);
+    }
+
+    // One closed-model iteration; each request is timed from when it is sent
+    private void visit() {
+        String registration = "LT" + runId + "-" + vehicles.incrementAndGet();
+        String body = "{\"vehicleType\":\"" + sampleVehicleType() + "\",\"vehicleRegistration\":\""
+                + registration + "\"}";
+        boolean parked = send(entryStats, System.nanoTime(), HttpRequest.newBuilder(uri("/api/parking/entry"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)));
+        send(availabilityStats, System.nanoTime(),
+                HttpRequest.newBuilder(uri("/api/parking-lots/availability")).GET());
+        if (parked) {
+            send(exitStats, System.nanoTime(), HttpRequest.newBuilder(uri("/api/parking/exit/" + registration))
+                    .POST(HttpRequest.BodyPublishers.noBody()));
+        }
+    }
+
+    // Calls action at Poisson-distributed intended times until end; the intended time is passed on
+    private static void generate(double perSecond, long end, IntendedAction action) {
+        if (perSecond <= 0) {
+            return;
+        }
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / perSecond;
+        long next = System.nanoTime();
+        while (next < end) {
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            action.run(next);
+            next += (long) (-Math.log(1 - ThreadLocalRandom.current().nextDouble()) * meanGapNanos);
+        }
+    }
+
+    private void arrive(long intendedStart) {
+        String registration = "LT" + runId + "-" + vehicles.incrementAndGet();
+        VehicleType vehicleType = sampleVehicleType();
+        requests.execute(() -> {
+            String body = "{\"vehicleType\":\"" + vehicleType + "\",\"vehicleRegistration\":\"" + registration + "\"}";
+            boolean parked = send(entryStats, intendedStart, HttpRequest.newBuilder(uri("/api/parking/entry"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body)));
+            if (!parked) {
+                return;
+            }
+
+            stillParked.incrementAndGet();
+            long dwellNanos = sampleDwellNanos();
+            long exitAt = System.nanoTime() + dwellNanos;
+            LockSupport.parkNanos(dwellNanos);
+            if (send(exitStats, exitAt, HttpRequest.newBuilder(uri("/api/parking/exit/" + registration))
+                    .POST(HttpRequest.BodyPublishers.noBody()))) {
+                stillParked.decrementAndGet();
+            }
+        });
+    }
+
+    private void pollAvailability(long intendedStart) {
+        requests.execute(() -> send(availabilityStats, intendedStart,
+                HttpRequest.newBuilder(uri("/api/parking-lots/availability")).GET()));
+    }
+
+    private boolean send(EndpointStats stats, long intendedStart, HttpRequest.Builder request) {
+        String outcome;
+        boolean success;
+        try {
+            HttpResponse<Void> response = client.send(request
+                    .header("Authorization", "Bearer " + options.token())
+                    .timeout(options.requestTimeout())
+                    .build(), HttpResponse.BodyHandlers.discarding());
+            outcome = Integer.toString(response.statusCode());
+            success = response.statusCode() / 100 == 2;
+        } catch (IOException e) {
+            outcome = e.getClass().getSimpleName();
+            success = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        stats.record(System.nanoTime() - intendedStart, outcome, !success);
+        return success;
+    }
+
+    private void report(long start) {
+        long intervalNanos = options.reportInterval().toNanos();
+        while (!Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(intervalNanos);
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            System.out.printf("[%4ds] parked=%d%n", TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start),
+                    stillParked.get());
+            synchronized (this) {
+                for (EndpointStats stats : allStats) {
+                    Histogram interval = stats.drainInterval();
+                    if (interval.getTotalCount() > 0) {
+                        System.out.printf("       %-40s %8.1f req/s  p50=%7.1fms  p99=%7.1fms%n", stats.name(),
+                                interval.getTotalCount() / (intervalNanos / 1e9),
+                                millis(interval.getValueAtPercentile(50)), millis(interval.getValueAtPercentile(99)));
+                    }
+                }
+            }
+        }
+    }
+
+    private synchronized void printSummary(long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        System.out.printf("%nSummary over %.1fs (%d vehicles arrived, %d still parked)%n",
+                seconds, vehicles.get(), stillParked.get());
+        System.out.printf("%-40s %9s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (EndpointStats stats : allStats) {
+            stats.drainInterval();
+            Histogram total = stats.total();
+            long count = stats.requests();
+            System.out.printf("%-40s %9d %9.1f %6.2f%% %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    stats.name(), count, count / seconds,
+                    count == 0 ? 0.0 : 100.0 * stats.errors() / count,
+                    millis(total.getValueAtPercentile(50)), millis(total.getValueAtPercentile(90)),
+                    millis(total.getValueAtPercentile(99)), millis(total.getValueAtPercentile(99.9)),
+                    millis(total.getMaxValue()));
+        }
+        System.out.println();
+        for (EndpointStats stats : allStats) {
+            List<String> outcomes = new ArrayList<>();
+            stats.outcomes().forEach((outcome, count) -> outcomes.add(outcome + "=" + count.sum()));
+            System.out.printf("%-40s %s%n", stats.name(), String.join(" ", outcomes));
+        }
+    }
+
+    private VehicleType sampleVehicleType() {
+        Map<VehicleType, Double> mix = options.vehicleMix();
+        double sum = mix.values().stream().mapToDouble(Double::doubleValue).sum();
+        double pick = ThreadLocalRandom.current().nextDouble(sum);
+        for (Map.Entry<VehicleType, Double> entry : mix.entrySet()) {
+            pick -= entry.getValue();
+            if (pick < 0) {
+                return entry.getKey();
+            }
+        }
+        return VehicleType.FOUR_WHEELER;
+    }
+
+    private long sampleDwellNanos() {
+        double mean = options.dwellMean().toNanos();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (options.dwellDistribution()) {
+            case FIXED -> (long) mean;
+            case EXPONENTIAL -> (long) (-Math.log(1 - random.nextDouble()) * mean);
+            // sigma 1 gives a long right tail like real stays; mu keeps the requested mean
+            case LOGNORMAL -> (long) Math.exp(Math.log(mean) - 0.5 + random.nextGaussian());
+        };
+    }
+
+    private URI uri(String path) {
+        return URI.create(options.baseUrl() + path);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    @FunctionalInterface
+    private interface IntendedAction {
+        void run(long intendedStartNanos);
+    }
+}
@@ -0,0 +1,62 @@
+package com.smartparking.loadtest;
+
+import com.smartparking.enums.VehicleType;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+// Command-line options, given as --name=value. clients > 0 switches to the closed model.
+record LoadTestOptions(
+        String baseUrl,
+        String token,
+        double arrivalsPerSecond,
+        Duration duration,
+        Duration dwellMean,
+        DwellDistribution dwellDistribution,
+        Map<VehicleType, Double> vehicleMix,
+        double availabilityPollsPerSecond,
+        Duration requestTimeout,
+        Duration reportInterval,
+        int clients) {
+
+    enum DwellDistribution {
+        FIXED,
+        EXPONENTIAL,
+        LOGNORMAL
+    }
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+
+        return new LoadTestOptions(
+                values.getOrDefault("base-url", "http://localhost:8080"),
+                values.getOrDefault("token", "loadtest:gate-1"),
+                Double.parseDouble(values.getOrDefault("arrival-rate", "20")),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration-seconds", "60"))),
+                Duration.ofMillis(Math.round(Double.parseDouble(values.getOrDefault("dwell-mean-seconds", "30")) * 1000)),
+                DwellDistribution.valueOf(values.getOrDefault("dwell-distribution", "EXPONENTIAL").toUpperCase()),
+                parseMix(values.getOrDefault("vehicle-mix", "TWO_WHEELER=0.4,FOUR_WHEELER=0.5,HEAVY_VEHICLE=0.1")),
+                Double.parseDouble(values.getOrDefault("availability-rate", "5")),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("timeout-seconds", "10"))),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("report-seconds", "10"))),
+                Integer.parseInt(values.getOrDefault("clients", "0")));
+    }
+
+    private static Map<VehicleType, Double> parseMix(String mix) {
+        Map<VehicleType, Double> weights = new EnumMap<>(VehicleType.class);
+        for (String part : mix.split(",")) {
+            String[] pair = part.split("=");
+            weights.put(VehicleType.valueOf(pair[0].trim()), Double.parseDouble(pair[1].trim()));
+        }
+        return weights;
+    }
+}
@@ -8,12 +8,16 @@ import com.smartparking.enums.SlotType;
 import com.smartparking.repository.FloorRepository;
 import com.smartparking.repository.ParkingLotRepository;
 import com.smartparking.repository.ParkingSlotRepository;
+import com.smartparking.service.allocation.SlotAllocator;
+import com.smartparking.service.occupancy.OccupancyTracker;
+import com.smartparking.service.provisioning.SlotProvisioner;
+import com.smartparking.util.TransactionHooks;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -25,8 +29,12 @@ public class DataInitializer implements CommandLineRunner {
     private final ParkingLotRepository parkingLotRepository;
     private final FloorRepository floorRepository;
     private final ParkingSlotRepository parkingSlotRepository;
+    private final SlotProvisioner slotProvisioner;
+    private final SlotAllocator slotAllocator;
+    private final OccupancyTracker occupancyTracker;
 
     @Override
+    @Transactional
     public void run(String... args) {
         // Check if data already exists
         if (parkingLotRepository.count() > 0) {
@@ -36,14 +44,11 @@ public class DataInitializer implements CommandLineRunner {
 
         log.info("Initializing parking lot data...");
 
-        // Create main parking lot
+        // Create main parking lot (ids are generated, so the rows are persisted rather than merged)
         ParkingLot mainLot = ParkingLot.builder()
-                .parkingLotId("lot-main-001")
                 .name("Main Smart Parking")
                 .address("123 Main Street, City Center")
                 .totalFloors(3)
-                .createdAt(LocalDateTime.now())
-                .updatedAt(LocalDateTime.now())
                 .build();
         parkingLotRepository.save(mainLot);
         log.info("Created parking lot: {}", mainLot.getName());
@@ -62,7 +67,6 @@ public class DataInitializer implements CommandLineRunner {
         int totalSlots = twoWheelerSlots + fourWheelerSlots + heavyVehicleSlots;
 
         Floor floor = Floor.builder()
-                .floorId("floor-" + floorNo)
                 .floorNo(floorNo)
                 .totalSlots(totalSlots)
                 .allottedSlots(0)
@@ -75,31 +79,34 @@ public class DataInitializer implements CommandLineRunner {
 
         // Create TWO_WHEELER slots
         for (int i = 1; i <= twoWheelerSlots; i++) {
-            slots.add(createSlot(String.format("slot-f%d-tw-%03d", floorNo, i),
-                                SlotType.TWO_WHEELER, floor));
+            slots.add(createSlot(SlotType.TWO_WHEELER, floor));
         }
 
         // Create FOUR_WHEELER slots
         for (int i = 1; i <= fourWheelerSlots; i++) {
-            slots.add(createSlot(String.format("slot-f%d-fw-%03d", floorNo, i),
-                                SlotType.FOUR_WHEELER, floor));
+            slots.add(createSlot(SlotType.FOUR_WHEELER, floor));
         }
 
         // Create HEAVY_VEHICLE slots
         for (int i = 1; i <= heavyVehicleSlots; i++) {
-            slots.add(createSlot(String.format("slot-f%d-hv-%03d", floorNo, i),
-                                SlotType.HEAVY_VEHICLE, floor));
+            slots.add(createSlot(SlotType.HEAVY_VEHICLE, floor));
         }
 
-        parkingSlotRepository.saveAll(slots);
+        slotProvisioner.persistAll(slots);
+        // The in-memory indexes were loaded before this runner; add the seeded slots once committed
+        String parkingLotId = lot.getParkingLotId();
+        String floorId = floor.getFloorId();
+        TransactionHooks.afterCommit(() -> {
+            slotAllocator.registerFloor(parkingLotId, floorId, floorNo, slots);
+            occupancyTracker.registerFloor(parkingLotId, floorId);
+        });
         log.info("  - Created {} TWO_WHEELER slots", twoWheelerSlots);
         log.info("  - Created {} FOUR_WHEELER slots", fourWheelerSlots);
         log.info("  - Created {} HEAVY_VEHICLE slots", heavyVehicleSlots);
     }
 
-    private ParkingSlot createSlot(String slotId, SlotType slotType, Floor floor) {
+    private ParkingSlot createSlot(SlotType slotType, Floor floor) {
         return ParkingSlot.builder()
-                .slotId(slotId)
                 .slotType(slotType)
                 .slotStatus(SlotStatus.AVAILABLE)
                 .floor(floor)
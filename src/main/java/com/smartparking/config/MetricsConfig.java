@@ -0,0 +1,73 @@
+package com.smartparking.config;
+
+import com.smartparking.entity.CacheRegions;
+import com.smartparking.security.VerifiedTokenCache;
+import com.smartparking.service.allocation.SlotAllocator;
+import com.smartparking.service.events.SlotStatusBroadcaster;
+import com.smartparking.service.parked.ParkedVehicleIndex;
+import com.smartparking.service.topology.TopologyCache;
+import com.smartparking.service.user.UserInfoCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder verifiedTokenCacheMetrics(VerifiedTokenCache cache) {
+        return registry -> {
+            FunctionCounter.builder("auth.token.cache.requests", cache, VerifiedTokenCache::hits)
+                    .tag("result", "hit").register(registry);
+            FunctionCounter.builder("auth.token.cache.requests", cache, VerifiedTokenCache::misses)
+                    .tag("result", "miss").register(registry);
+            FunctionCounter.builder("auth.token.cache.rejected", cache, VerifiedTokenCache::rejected)
+                    .description("Verified tokens not cached because the cache was full").register(registry);
+            Gauge.builder("auth.token.cache.size", cache, VerifiedTokenCache::size).register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder userInfoCacheMetrics(UserInfoCache cache) {
+        return registry -> {
+            FunctionCounter.builder("auth.user.cache.requests", cache, UserInfoCache::hits)
+                    .tag("result", "hit").register(registry);
+            FunctionCounter.builder("auth.user.cache.requests", cache, UserInfoCache::misses)
+                    .tag("result", "miss").register(registry);
+            Gauge.builder("auth.user.cache.size", cache, UserInfoCache::size).register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder slotStatusStreamMetrics(SlotStatusBroadcaster broadcaster) {
+        return registry -> Gauge.builder("parking.events.subscribers", broadcaster,
+                SlotStatusBroadcaster::subscriberCount).register(registry);
+    }
+
+    @Bean
+    public MeterBinder slotAllocatorMetrics(SlotAllocator allocator) {
+        return registry -> Gauge.builder("parking.slots.quarantined", allocator, SlotAllocator::quarantinedCount)
+                .description("Slots held out of the allocator until their row is AVAILABLE again")
+                .register(registry);
+    }
+
+    @Bean
+    public MeterBinder parkedVehicleIndexMetrics(ParkedVehicleIndex index) {
+        return registry -> Gauge.builder("parking.vehicles.parked", index, ParkedVehicleIndex::size)
+                .description("Vehicles held in the in-memory parked index").register(registry);
+    }
+
+    @Bean
+    public MeterBinder topologyCacheMetrics(TopologyCache cache) {
+        return registry -> {
+            for (String region : CacheRegions.ALL) {
+                FunctionCounter.builder("parking.topology.cache.requests", cache, c -> c.hits(region))
+                        .tag("region", region).tag("result", "hit").register(registry);
+                FunctionCounter.builder("parking.topology.cache.requests", cache, c -> c.misses(region))
+                        .tag("region", region).tag("result", "miss").register(registry);
+            }
+        };
+    }
+}
@@ -1,7 +1,9 @@
 package com.smartparking.config;
 
 import com.smartparking.security.FirebaseAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -13,6 +15,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -23,20 +26,33 @@ public class SecurityConfig {
 
     private final FirebaseAuthenticationFilter firebaseAuthenticationFilter;
 
+    // Only for deployments whose actuator endpoints are reachable from the monitoring network alone
+    @Value("${parking.metrics.public-scrape:false}")
+    private boolean publicScrape;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+        List<String> publicPaths = new ArrayList<>(List.of(
+            "/api/health",
+            "/api",
+            "/h2-console/**",
+            "/api/auth/**",
+            "/actuator/health"
+        ));
+        if (publicScrape) {
+            publicPaths.add("/actuator/prometheus");
+        }
+
         http
             .csrf(csrf -> csrf.disable())
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
+                // Async dispatches (SSE streams) were already authorized on the original request
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                 // Public endpoints - no authentication required
-                .requestMatchers(
-                    "/api/health",
-                    "/api",
-                    "/h2-console/**",
-                    "/api/auth/**"
-                ).permitAll()
+                .requestMatchers(publicPaths.toArray(String[]::new)).permitAll()
 
                 // All other endpoints require authentication
                 .anyRequest().authenticated()
@@ -0,0 +1,39 @@
+package com.smartparking.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.smartparking.entity.CacheRegions;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.util.OptionalLong;
+
+// Backs Hibernate's second-level cache with an in-process Caffeine JCache. The regions are created
+// here with a size bound instead of being created unbounded by Hibernate on first use.
+@Configuration
+public class TopologyCacheConfig {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager topologyCacheManager(@Value("${parking.topology-cache.max-entries:10000}") long maxEntries) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(),
+                provider.getDefaultClassLoader());
+        for (String region : CacheRegions.ALL) {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(maxEntries));
+            cacheManager.createCache(region, configuration);
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer topologyCacheCustomizer(CacheManager topologyCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, topologyCacheManager);
+    }
+}
@@ -0,0 +1,49 @@
+package com.smartparking.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+// Active with spring.threads.virtual.enabled=true, which runs Tomcat requests, @Async and @Scheduled
+// work on virtual threads. Request concurrency is then no longer capped by a thread pool, so the
+// connection pool becomes the limit and is fronted by ConnectionLimitingDataSource.
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionLimiter(Environment environment) {
+        int maxWaiting = environment.getProperty("parking.datasource.max-waiting", Integer.class, 2000);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    // One permit per pooled connection, waiting no longer than the pool itself would
+                    return new ConnectionLimitingDataSource(hikari, hikari.getMaximumPoolSize(), maxWaiting,
+                            hikari.getConnectionTimeout());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder connectionLimiterMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof ConnectionLimitingDataSource limiter) {
+                Gauge.builder("parking.db.permits.waiting", limiter, ConnectionLimitingDataSource::waiting)
+                        .description("Callers parked waiting for a connection permit").register(registry);
+                Gauge.builder("parking.db.permits.available", limiter, ConnectionLimitingDataSource::available)
+                        .register(registry);
+            }
+        };
+    }
+}
@@ -0,0 +1,48 @@
+package com.smartparking.config;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// Streaming responses (exports) are written on their own small pool. A slow download then holds one of
+// these threads and its database cursor instead of a Tomcat worker, and the pool size caps how many
+// cursors exports can keep open. Excess exports queue; beyond the queue they are refused with 503.
+//
+// Spring MVC has a single async executor for all async return types. In this app only the
+// StreamingResponseBody exports reach it (SSE emitters are written by SlotStatusBroadcaster's own
+// threads), so it is sized and named for exports. A future Callable or WebAsyncTask endpoint should
+// pass its own executor through WebAsyncTask rather than queue behind downloads. The pool is not a
+// bean, so Boot's applicationTaskExecutor stays the default for @Async work.
+@Configuration
+public class WebAsyncConfig implements WebMvcConfigurer, DisposableBean {
+
+    private final ThreadPoolTaskExecutor exportExecutor;
+    private final long timeoutMs;
+
+    public WebAsyncConfig(@Value("${parking.export.max-concurrent:4}") int maxConcurrent,
+                          @Value("${parking.export.queue-capacity:16}") int queueCapacity,
+                          @Value("${parking.export.timeout-ms:1800000}") long timeoutMs) {
+        this.exportExecutor = new ThreadPoolTaskExecutor();
+        exportExecutor.setThreadNamePrefix("export-");
+        exportExecutor.setCorePoolSize(maxConcurrent);
+        exportExecutor.setMaxPoolSize(maxConcurrent);
+        exportExecutor.setQueueCapacity(queueCapacity);
+        exportExecutor.initialize();
+        this.timeoutMs = timeoutMs;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(exportExecutor);
+        // SSE emitters set their own timeout
+        configurer.setDefaultTimeout(timeoutMs);
+    }
+
+    @Override
+    public void destroy() {
+        exportExecutor.shutdown();
+    }
+}
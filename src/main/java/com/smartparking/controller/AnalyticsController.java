@@ -0,0 +1,49 @@
+package com.smartparking.controller;
+
+import com.smartparking.dto.response.ApiResponse;
+import com.smartparking.dto.response.FloorRevenueResponse;
+import com.smartparking.dto.response.UsageBucketResponse;
+import com.smartparking.enums.RollupGranularity;
+import com.smartparking.enums.SlotType;
+import com.smartparking.service.AnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+
+    // Occupancy, traffic and revenue per bucket in [from, to), optionally for one floor or slot type
+    @GetMapping("/occupancy")
+    public ResponseEntity<ApiResponse<List<UsageBucketResponse>>> getOccupancy(
+            @RequestParam String parkingLotId,
+            @RequestParam(required = false) String floorId,
+            @RequestParam(required = false) SlotType slotType,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "HOUR") RollupGranularity granularity) {
+        List<UsageBucketResponse> response = analyticsService.getOccupancy(
+                parkingLotId, floorId, slotType, from, to, granularity);
+        return ResponseEntity.ok(ApiResponse.success("Occupancy retrieved successfully", response));
+    }
+
+    // Totals per floor over [from, to); day buckets unless the range needs hour precision
+    @GetMapping("/revenue")
+    public ResponseEntity<ApiResponse<List<FloorRevenueResponse>>> getRevenueByFloor(
+            @RequestParam String parkingLotId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "DAY") RollupGranularity granularity) {
+        List<FloorRevenueResponse> response = analyticsService.getRevenueByFloor(
+                parkingLotId, from, to, granularity);
+        return ResponseEntity.ok(ApiResponse.success("Revenue by floor retrieved successfully", response));
+    }
+}
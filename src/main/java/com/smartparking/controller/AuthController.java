@@ -26,6 +26,12 @@ public class AuthController {
         return ResponseEntity.ok(ApiResponse.success("User info retrieved successfully", userInfo));
     }
 
+    @PostMapping("/revoke")
+    public ResponseEntity<ApiResponse<Void>> revokeTokens() {
+        authService.revokeCurrentUserTokens();
+        return ResponseEntity.ok(ApiResponse.success("Tokens revoked successfully", null));
+    }
+
     @PostMapping("/verify-token")
     public ResponseEntity<ApiResponse<String>> verifyToken() {
         // If this endpoint is reached, it means the token was valid (verified by the filter)
@@ -0,0 +1,56 @@
+package com.smartparking.controller;
+
+import com.smartparking.dto.request.BillingRecalculationRequest;
+import com.smartparking.dto.response.ApiResponse;
+import com.smartparking.dto.response.BillingRecalculationResponse;
+import com.smartparking.service.BillingRecalculationService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/billing")
+@RequiredArgsConstructor
+public class BillingController {
+
+    private final BillingRecalculationService billingRecalculationService;
+
+    @PostMapping("/recalculations")
+    public ResponseEntity<ApiResponse<BillingRecalculationResponse>> startRecalculation(
+            @Valid @RequestBody BillingRecalculationRequest request) {
+        BillingRecalculationResponse response = billingRecalculationService.startRecalculation(request);
+        return ResponseEntity
+                .status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Billing recalculation started", response));
+    }
+
+    @GetMapping("/recalculations")
+    public ResponseEntity<ApiResponse<List<BillingRecalculationResponse>>> getAllRecalculations() {
+        List<BillingRecalculationResponse> response = billingRecalculationService.getAllRecalculations();
+        return ResponseEntity.ok(ApiResponse.success("Billing recalculations retrieved successfully", response));
+    }
+
+    @GetMapping("/recalculations/{id}")
+    public ResponseEntity<ApiResponse<BillingRecalculationResponse>> getRecalculation(@PathVariable String id) {
+        BillingRecalculationResponse response = billingRecalculationService.getRecalculation(id);
+        return ResponseEntity.ok(ApiResponse.success("Billing recalculation retrieved successfully", response));
+    }
+
+    @PostMapping("/recalculations/{id}/resume")
+    public ResponseEntity<ApiResponse<BillingRecalculationResponse>> resumeRecalculation(@PathVariable String id) {
+        BillingRecalculationResponse response = billingRecalculationService.resumeRecalculation(id);
+        return ResponseEntity
+                .status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Billing recalculation resumed", response));
+    }
+
+    @PostMapping("/recalculations/{id}/cancel")
+    public ResponseEntity<ApiResponse<BillingRecalculationResponse>> cancelRecalculation(@PathVariable String id) {
+        BillingRecalculationResponse response = billingRecalculationService.cancelRecalculation(id);
+        return ResponseEntity.ok(ApiResponse.success("Billing recalculation cancellation requested", response));
+    }
+}
@@ -3,6 +3,7 @@ package com.smartparking.controller;
 import com.smartparking.dto.request.EmployeeRequest;
 import com.smartparking.dto.response.ApiResponse;
 import com.smartparking.dto.response.EmployeeResponse;
+import com.smartparking.dto.response.PageResponse;
 import com.smartparking.service.EmployeeService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -48,6 +49,14 @@ public class EmployeeController {
         return ResponseEntity.ok(ApiResponse.success("Employees retrieved successfully", response));
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<ApiResponse<PageResponse<EmployeeResponse>>> getEmployees(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        PageResponse<EmployeeResponse> response = employeeService.getEmployees(cursor, limit);
+        return ResponseEntity.ok(ApiResponse.success("Employees retrieved successfully", response));
+    }
+
     @PutMapping("/{empId}")
     public ResponseEntity<ApiResponse<EmployeeResponse>> updateEmployee(
             @PathVariable String empId,
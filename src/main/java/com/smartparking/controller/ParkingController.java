@@ -1,16 +1,24 @@
 package com.smartparking.controller;
 
 import com.smartparking.dto.request.BillUpdateRequest;
+import com.smartparking.dto.request.GateEventBatchRequest;
 import com.smartparking.dto.request.VehicleEntryRequest;
 import com.smartparking.dto.response.ApiResponse;
+import com.smartparking.dto.response.GateEventResultResponse;
+import com.smartparking.dto.response.PageResponse;
 import com.smartparking.dto.response.VehicleResponse;
+import com.smartparking.enums.VehicleStatus;
 import com.smartparking.service.ParkingService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/parking")
 @RequiredArgsConstructor
@@ -34,6 +42,15 @@ public class ParkingController {
         return ResponseEntity.ok(ApiResponse.success("Vehicle exited successfully. Bill generated.", response));
     }
 
+    @PostMapping("/events/batch")
+    public ResponseEntity<ApiResponse<List<GateEventResultResponse>>> processGateEvents(
+            @Valid @RequestBody GateEventBatchRequest request) {
+        List<GateEventResultResponse> response = parkingService.processGateEvents(request.getEvents());
+        long failed = response.stream().filter(result -> !result.isSuccess()).count();
+        return ResponseEntity.ok(ApiResponse.success(
+                "Processed " + response.size() + " events (" + failed + " failed)", response));
+    }
+
     @GetMapping("/vehicle/{vehicleRegistration}")
     public ResponseEntity<ApiResponse<VehicleResponse>> getVehicle(
             @PathVariable String vehicleRegistration) {
@@ -41,6 +58,24 @@ public class ParkingController {
         return ResponseEntity.ok(ApiResponse.success("Vehicle retrieved successfully", response));
     }
 
+    @GetMapping("/vehicle/{vehicleRegistration}/quote")
+    public ResponseEntity<ApiResponse<VehicleResponse>> quoteVehicle(
+            @PathVariable String vehicleRegistration) {
+        VehicleResponse response = parkingService.quoteVehicle(vehicleRegistration);
+        return ResponseEntity.ok(ApiResponse.success("Current charge calculated", response));
+    }
+
+    @GetMapping("/vehicles")
+    public ResponseEntity<ApiResponse<PageResponse<VehicleResponse>>> getVehicles(
+            @RequestParam(required = false) VehicleStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        PageResponse<VehicleResponse> response = parkingService.getVehicles(status, from, to, cursor, limit);
+        return ResponseEntity.ok(ApiResponse.success("Vehicles retrieved successfully", response));
+    }
+
     @PutMapping("/bill/{vehicleId}")
     public ResponseEntity<ApiResponse<VehicleResponse>> updateBillAmount(
             @PathVariable String vehicleId,
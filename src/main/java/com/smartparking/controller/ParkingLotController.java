@@ -1,16 +1,25 @@
 package com.smartparking.controller;
 
 import com.smartparking.dto.request.FloorRequest;
+import com.smartparking.dto.request.ParkingLotProvisionRequest;
 import com.smartparking.dto.request.ParkingLotRequest;
 import com.smartparking.dto.response.ApiResponse;
+import com.smartparking.dto.response.AvailabilitySummaryResponse;
 import com.smartparking.dto.response.FloorResponse;
+import com.smartparking.dto.response.PageResponse;
 import com.smartparking.dto.response.ParkingLotResponse;
+import com.smartparking.dto.response.ParkingSlotResponse;
+import com.smartparking.enums.SlotStatus;
+import com.smartparking.enums.SlotType;
 import com.smartparking.service.ParkingLotService;
+import com.smartparking.service.events.SlotStatusBroadcaster;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -20,6 +29,7 @@ import java.util.List;
 public class ParkingLotController {
 
     private final ParkingLotService parkingLotService;
+    private final SlotStatusBroadcaster slotStatusBroadcaster;
 
     @PostMapping
     public ResponseEntity<ApiResponse<ParkingLotResponse>> createParkingLot(
@@ -30,6 +40,16 @@ public class ParkingLotController {
                 .body(ApiResponse.success("Parking lot created successfully", response));
     }
 
+    // Creates a lot with all its floors and slots in one transaction
+    @PostMapping("/provision")
+    public ResponseEntity<ApiResponse<ParkingLotResponse>> provisionParkingLot(
+            @Valid @RequestBody ParkingLotProvisionRequest request) {
+        ParkingLotResponse response = parkingLotService.provisionParkingLot(request);
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Parking lot provisioned successfully", response));
+    }
+
     @GetMapping("/{parkingLotId}")
     public ResponseEntity<ApiResponse<ParkingLotResponse>> getParkingLotById(
             @PathVariable String parkingLotId) {
@@ -65,4 +85,34 @@ public class ParkingLotController {
         List<FloorResponse> response = parkingLotService.getFloorsByParkingLotId(parkingLotId);
         return ResponseEntity.ok(ApiResponse.success("Floors retrieved successfully", response));
     }
+
+    @GetMapping("/slots")
+    public ResponseEntity<ApiResponse<PageResponse<ParkingSlotResponse>>> getSlots(
+            @RequestParam(required = false) String floorId,
+            @RequestParam(required = false) SlotType slotType,
+            @RequestParam(required = false) SlotStatus slotStatus,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        PageResponse<ParkingSlotResponse> response =
+                parkingLotService.getSlots(floorId, slotType, slotStatus, cursor, limit);
+        return ResponseEntity.ok(ApiResponse.success("Slots retrieved successfully", response));
+    }
+
+    @GetMapping("/availability")
+    public ResponseEntity<ApiResponse<List<AvailabilitySummaryResponse>>> getAvailabilitySummaries() {
+        List<AvailabilitySummaryResponse> response = parkingLotService.getAvailabilitySummaries();
+        return ResponseEntity.ok(ApiResponse.success("Availability retrieved successfully", response));
+    }
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSlotStatus() {
+        return slotStatusBroadcaster.subscribe();
+    }
+
+    @GetMapping("/{parkingLotId}/availability")
+    public ResponseEntity<ApiResponse<AvailabilitySummaryResponse>> getAvailabilitySummary(
+            @PathVariable String parkingLotId) {
+        AvailabilitySummaryResponse response = parkingLotService.getAvailabilitySummary(parkingLotId);
+        return ResponseEntity.ok(ApiResponse.success("Availability retrieved successfully", response));
+    }
 }
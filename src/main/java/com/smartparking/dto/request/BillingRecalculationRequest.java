@@ -0,0 +1,22 @@
+package com.smartparking.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BillingRecalculationRequest {
+    // Sessions that ended at or after `from` and before `to` are re-priced
+    @NotNull(message = "From is required")
+    private LocalDateTime from;
+
+    @NotNull(message = "To is required")
+    private LocalDateTime to;
+}
@@ -0,0 +1,25 @@
+package com.smartparking.dto.request;
+
+import com.smartparking.enums.SlotType;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FloorLayoutRequest {
+    @NotNull(message = "Floor number is required")
+    @Min(value = 0, message = "Floor number must be non-negative")
+    private Integer floorNo;
+
+    @NotEmpty(message = "Slot configuration is required")
+    private Map<SlotType, @NotNull @Min(value = 0, message = "Slot count must be non-negative") Integer> slotConfiguration;
+}
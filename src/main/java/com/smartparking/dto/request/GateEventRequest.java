@@ -0,0 +1,25 @@
+package com.smartparking.dto.request;
+
+import com.smartparking.enums.GateEventType;
+import com.smartparking.enums.VehicleType;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GateEventRequest {
+    @NotNull(message = "Event type is required")
+    private GateEventType type;
+
+    @NotBlank(message = "Vehicle registration is required")
+    private String vehicleRegistration;
+
+    // Required for ENTRY events only
+    private VehicleType vehicleType;
+}
@@ -0,0 +1,26 @@
+package com.smartparking.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// A whole lot in one call: the lot, its floors and every floor's slots
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ParkingLotProvisionRequest {
+    @NotBlank(message = "Name is required")
+    private String name;
+
+    private String address;
+
+    @NotEmpty(message = "At least 1 floor is required")
+    private List<@Valid FloorLayoutRequest> floors;
+}
@@ -0,0 +1,21 @@
+package com.smartparking.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AvailabilitySummaryResponse {
+    private String parkingLotId;
+    private long totalSlots;
+    private long availableSlots;
+    private long occupiedSlots;
+    private List<SlotTypeAvailabilityResponse> slotTypes;
+    private List<FloorAvailabilityResponse> floors;
+}
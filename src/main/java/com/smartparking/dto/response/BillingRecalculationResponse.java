@@ -0,0 +1,28 @@
+package com.smartparking.dto.response;
+
+import com.smartparking.enums.RecalculationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BillingRecalculationResponse {
+    private String recalculationId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private RecalculationStatus status;
+    private long sessionsProcessed;
+    private long sessionsChanged;
+    private double amountDelta;
+    // Exit time of the last session written; progress through the range
+    private LocalDateTime processedUpTo;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime finishedAt;
+}
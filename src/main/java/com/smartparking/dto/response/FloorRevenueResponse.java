@@ -0,0 +1,18 @@
+package com.smartparking.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FloorRevenueResponse {
+    private String floorId;
+    private long entries;
+    private long exits;
+    private double occupiedMinutes;
+    private double revenue;
+}
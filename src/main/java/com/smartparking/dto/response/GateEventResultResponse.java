@@ -0,0 +1,21 @@
+package com.smartparking.dto.response;
+
+import com.smartparking.enums.GateEventType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GateEventResultResponse {
+    // Position of the event in the submitted batch
+    private int index;
+    private GateEventType type;
+    private String vehicleRegistration;
+    private boolean success;
+    private String message;
+    private VehicleResponse vehicle;
+}
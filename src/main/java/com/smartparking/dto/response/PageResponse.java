@@ -0,0 +1,19 @@
+package com.smartparking.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PageResponse<T> {
+    private List<T> items;
+    private int limit;
+    // Opaque; pass back as ?cursor= to fetch the next page, null on the last page
+    private String nextCursor;
+}
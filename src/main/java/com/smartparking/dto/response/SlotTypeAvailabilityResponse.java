@@ -0,0 +1,18 @@
+package com.smartparking.dto.response;
+
+import com.smartparking.enums.SlotType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SlotTypeAvailabilityResponse {
+    private SlotType slotType;
+    private long totalSlots;
+    private long availableSlots;
+    private long occupiedSlots;
+}
@@ -0,0 +1,22 @@
+package com.smartparking.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UsageBucketResponse {
+    private LocalDateTime bucketStart;
+    private long entries;
+    private long exits;
+    private double occupiedMinutes;
+    // Mean number of occupied slots over the bucket
+    private double averageOccupied;
+    private double revenue;
+}
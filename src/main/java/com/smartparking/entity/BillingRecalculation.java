@@ -0,0 +1,79 @@
+package com.smartparking.entity;
+
+import com.smartparking.entity.id.TimeOrderedId;
+import com.smartparking.enums.RecalculationStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// A re-pricing run over the sessions that ended in [rangeFrom, rangeTo). The keyset position of the
+// last committed chunk is stored with the counters, so a stopped run resumes where it left off.
+@Entity
+@Table(name = "billing_recalculations")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BillingRecalculation {
+
+    @Id
+    @TimeOrderedId
+    @Column(name = "recalculation_id", length = 36)
+    private String recalculationId;
+
+    @Column(name = "range_from", nullable = false)
+    private LocalDateTime rangeFrom;
+
+    @Column(name = "range_to", nullable = false)
+    private LocalDateTime rangeTo;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RecalculationStatus status;
+
+    @Column(name = "sessions_processed", nullable = false)
+    private long sessionsProcessed;
+
+    @Column(name = "sessions_changed", nullable = false)
+    private long sessionsChanged;
+
+    // Net change in billed amount over the processed sessions
+    @Column(name = "amount_delta", nullable = false)
+    private double amountDelta;
+
+    @Column(name = "last_time_out")
+    private LocalDateTime lastTimeOut;
+
+    @Column(name = "last_session_id", length = 36)
+    private String lastSessionId;
+
+    @Column(name = "error", length = 1000)
+    private String error;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    // Instance that queued or is running the run; it refreshes heartbeatAt while the run is active
+    @Column(name = "owner_instance")
+    private String ownerInstance;
+
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+        if (status == null) {
+            status = RecalculationStatus.PENDING;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.smartparking.entity;
+
+import java.util.List;
+
+// Second-level cache regions for the lot/floor topology. The caches are created up front by
+// TopologyCacheConfig, so a region named here must also be listed in ALL.
+public final class CacheRegions {
+
+    public static final String PARKING_LOTS = "parking-lots";
+    public static final String FLOORS = "floors";
+    public static final String PARKING_LOT_FLOORS = "parking-lot-floors";
+
+    public static final List<String> ALL = List.of(PARKING_LOTS, FLOORS, PARKING_LOT_FLOORS);
+
+    private CacheRegions() {
+    }
+}
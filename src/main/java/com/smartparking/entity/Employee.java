@@ -1,5 +1,6 @@
 package com.smartparking.entity;
 
+import com.smartparking.entity.id.TimeOrderedId;
 import com.smartparking.enums.Gender;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
@@ -21,8 +22,8 @@ import java.time.LocalDateTime;
 public class Employee {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    @Column(name = "emp_id")
+    @TimeOrderedId
+    @Column(name = "emp_id", length = 36)
     private String empId;
 
     @NotBlank(message = "Name is required")
@@ -1,16 +1,25 @@
 package com.smartparking.entity;
 
+import com.smartparking.entity.id.TimeOrderedId;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.ArrayList;
 import java.util.List;
 
+// allotted_slots is written with plain SQL by OccupancyTracker, so the cached copy may trail the column.
+// Dynamic updates keep an entity update from writing that stale value back.
 @Entity
 @Table(name = "floors")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.FLOORS)
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -18,8 +27,8 @@ import java.util.List;
 public class Floor {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    @Column(name = "floor_id")
+    @TimeOrderedId
+    @Column(name = "floor_id", length = 36)
     private String floorId;
 
     @Column(name = "floor_no", nullable = false)
@@ -38,14 +47,4 @@ public class Floor {
     @OneToMany(mappedBy = "floor", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<ParkingSlot> slots = new ArrayList<>();
-
-    public void incrementAllottedSlots() {
-        this.allottedSlots++;
-    }
-
-    public void decrementAllottedSlots() {
-        if (this.allottedSlots > 0) {
-            this.allottedSlots--;
-        }
-    }
 }
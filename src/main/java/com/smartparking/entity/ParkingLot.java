@@ -1,10 +1,13 @@
 package com.smartparking.entity;
 
+import com.smartparking.entity.id.TimeOrderedId;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -12,6 +15,8 @@ import java.util.List;
 
 @Entity
 @Table(name = "parking_lots")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.PARKING_LOTS)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -19,8 +24,8 @@ import java.util.List;
 public class ParkingLot {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    @Column(name = "parking_lot_id")
+    @TimeOrderedId
+    @Column(name = "parking_lot_id", length = 36)
     private String parkingLotId;
 
     @Column(nullable = false)
@@ -32,7 +37,9 @@ public class ParkingLot {
     @Column(name = "total_floors")
     private Integer totalFloors;
 
+    // Inserting a floor does not touch this cached collection; TopologyCache evicts it once the floor commits
     @OneToMany(mappedBy = "parkingLot", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.PARKING_LOT_FLOORS)
     @Builder.Default
     private List<Floor> floors = new ArrayList<>();
 
@@ -0,0 +1,51 @@
+package com.smartparking.entity;
+
+import com.smartparking.entity.id.TimeOrderedId;
+import com.smartparking.enums.VehicleType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// One completed visit. Rows are only ever appended (on exit); the vehicle row keeps the current state.
+@Entity
+@Table(name = "parking_sessions",
+        indexes = {
+                @Index(name = "idx_parking_sessions_time_out", columnList = "time_out"),
+                @Index(name = "idx_parking_sessions_vehicle_time_in", columnList = "vehicle_id, time_in")
+        })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ParkingSession {
+
+    @Id
+    @TimeOrderedId
+    @Column(name = "session_id", length = 36)
+    private String sessionId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "vehicle_id", nullable = false)
+    private Vehicle vehicle;
+
+    // Plain id rather than a relation, so history survives slots being removed
+    @Column(name = "slot_id", length = 36)
+    private String slotId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "vehicle_type", nullable = false)
+    private VehicleType vehicleType;
+
+    @Column(name = "time_in", nullable = false)
+    private LocalDateTime timeIn;
+
+    @Column(name = "time_out", nullable = false)
+    private LocalDateTime timeOut;
+
+    @Column(name = "amount")
+    private Double amount;
+}
@@ -1,5 +1,6 @@
 package com.smartparking.entity;
 
+import com.smartparking.entity.id.TimeOrderedId;
 import com.smartparking.enums.SlotStatus;
 import com.smartparking.enums.SlotType;
 import jakarta.persistence.*;
@@ -17,8 +18,8 @@ import lombok.NoArgsConstructor;
 public class ParkingSlot {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    @Column(name = "slot_id")
+    @TimeOrderedId
+    @Column(name = "slot_id", length = 36)
     private String slotId;
 
     @Enumerated(EnumType.STRING)
@@ -35,4 +36,9 @@ public class ParkingSlot {
 
     @OneToOne(mappedBy = "assignedSlot", cascade = CascadeType.ALL)
     private Vehicle currentVehicle;
+
+    // Existing rows start at 0 (migration V2)
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 }
@@ -0,0 +1,62 @@
+package com.smartparking.entity;
+
+import com.smartparking.entity.id.TimeOrderedId;
+import com.smartparking.enums.RollupGranularity;
+import com.smartparking.enums.SlotType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Pre-aggregated usage of one floor's slots of one type over an hour or a day. Charts read only these rows.
+@Entity
+@Table(name = "usage_rollups",
+        indexes = @Index(name = "idx_usage_rollups_lot_bucket",
+                columnList = "granularity, parking_lot_id, bucket_start"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_usage_rollups_bucket",
+                columnNames = {"granularity", "bucket_start", "floor_id", "slot_type"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UsageRollup {
+
+    @Id
+    @TimeOrderedId
+    @Column(name = "rollup_id", length = 36)
+    private String rollupId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RollupGranularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "parking_lot_id", nullable = false, length = 36)
+    private String parkingLotId;
+
+    @Column(name = "floor_id", nullable = false, length = 36)
+    private String floorId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "slot_type", nullable = false)
+    private SlotType slotType;
+
+    @Column(nullable = false)
+    private long entries;
+
+    @Column(nullable = false)
+    private long exits;
+
+    // Sum over the bucket of occupied slots x minutes; divide by the bucket length for average occupancy
+    @Column(name = "occupied_minutes", nullable = false)
+    private double occupiedMinutes;
+
+    // Billed at exit, attributed to the bucket the vehicle left in
+    @Column(nullable = false)
+    private double revenue;
+}
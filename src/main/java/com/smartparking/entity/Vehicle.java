@@ -1,5 +1,6 @@
 package com.smartparking.entity;
 
+import com.smartparking.entity.id.TimeOrderedId;
 import com.smartparking.enums.VehicleStatus;
 import com.smartparking.enums.VehicleType;
 import jakarta.persistence.*;
@@ -12,7 +13,13 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "vehicles")
+@Table(name = "vehicles",
+        indexes = {
+                @Index(name = "idx_vehicles_registration_status", columnList = "vehicle_registration, status"),
+                @Index(name = "idx_vehicles_status_time_in", columnList = "status, time_in")
+        },
+        uniqueConstraints = @UniqueConstraint(name = "uk_vehicles_active_registration",
+                columnNames = "active_registration"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -20,8 +27,8 @@ import java.time.LocalDateTime;
 public class Vehicle {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    @Column(name = "vehicle_id")
+    @TimeOrderedId
+    @Column(name = "vehicle_id", length = 36)
     private String vehicleId;
 
     @Enumerated(EnumType.STRING)
@@ -45,10 +52,21 @@ public class Vehicle {
     @Column(name = "bill_amt")
     private Double billAmt;
 
+    // Set only while PARKED; the slot of a finished visit is kept on its ParkingSession
     @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "assigned_slot_id")
     private ParkingSlot assignedSlot;
 
+    // Registration while PARKED, otherwise null. The unique constraint on it allows one
+    // parked session per registration on every database, without partial-index support.
+    @Column(name = "active_registration")
+    private String activeRegistration;
+
+    // Guards the reused row against two concurrent entries for the same plate
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         if (timeIn == null) {
@@ -57,5 +75,15 @@ public class Vehicle {
         if (status == null) {
             status = VehicleStatus.IN_PROCESS;
         }
+        syncActiveRegistration();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        syncActiveRegistration();
+    }
+
+    private void syncActiveRegistration() {
+        activeRegistration = status == VehicleStatus.PARKED ? vehicleRegistration : null;
     }
 }
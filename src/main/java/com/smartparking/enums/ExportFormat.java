@@ -0,0 +1,6 @@
+package com.smartparking.enums;
+
+public enum ExportFormat {
+    CSV,
+    NDJSON
+}
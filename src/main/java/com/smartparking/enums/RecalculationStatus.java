@@ -0,0 +1,11 @@
+package com.smartparking.enums;
+
+public enum RecalculationStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    CANCELLED,
+    FAILED,
+    // Was queued or running when its instance stopped; can be resumed
+    INTERRUPTED
+}
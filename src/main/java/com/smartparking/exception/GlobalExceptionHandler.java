@@ -1,8 +1,11 @@
 package com.smartparking.exception;
 
 import com.smartparking.dto.response.ApiResponse;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -42,6 +45,22 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error(ex.getMessage()));
     }
 
+    // The streaming executor is saturated (too many exports in flight)
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<ApiResponse<?>> handleTaskRejectedException(TaskRejectedException ex) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ApiResponse.error("Server is busy, please retry shortly"));
+    }
+
+    // No database connection within the pool timeout, or too many callers already waiting for one
+    @ExceptionHandler({CannotCreateTransactionException.class, CannotGetJdbcConnectionException.class})
+    public ResponseEntity<ApiResponse<?>> handleConnectionUnavailable(RuntimeException ex) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ApiResponse.error("Server is busy, please retry shortly"));
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiResponse<Map<String, String>>> handleValidationExceptions(
             MethodArgumentNotValidException ex) {
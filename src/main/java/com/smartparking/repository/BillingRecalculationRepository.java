@@ -0,0 +1,36 @@
+package com.smartparking.repository;
+
+import com.smartparking.entity.BillingRecalculation;
+import com.smartparking.enums.RecalculationStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BillingRecalculationRepository extends JpaRepository<BillingRecalculation, String> {
+    List<BillingRecalculation> findAllByOrderByCreatedAtDesc();
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE BillingRecalculation r SET r.heartbeatAt = :now"
+            + " WHERE r.ownerInstance = :owner AND r.status IN :statuses")
+    int refreshHeartbeat(String owner, Collection<RecalculationStatus> statuses, LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE BillingRecalculation r SET r.status = :to WHERE r.status IN :from AND r.ownerInstance = :owner")
+    int updateStatusOwnedBy(String owner, Collection<RecalculationStatus> from, RecalculationStatus to);
+
+    // Rows written before owners were recorded have no heartbeat and count as stale
+    @Transactional
+    @Modifying
+    @Query("UPDATE BillingRecalculation r SET r.status = :to"
+            + " WHERE r.status IN :from AND (r.heartbeatAt IS NULL OR r.heartbeatAt < :staleBefore)")
+    int updateStaleStatus(Collection<RecalculationStatus> from, RecalculationStatus to, LocalDateTime staleBefore);
+}
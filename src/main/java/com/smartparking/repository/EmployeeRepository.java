@@ -1,13 +1,19 @@
 package com.smartparking.repository;
 
 import com.smartparking.entity.Employee;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, String> {
     Optional<Employee> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    @Query("SELECT e FROM Employee e WHERE (:afterEmpId IS NULL OR e.empId > :afterEmpId) ORDER BY e.empId")
+    List<Employee> findPage(String afterEmpId, Pageable pageable);
 }
@@ -1,12 +1,19 @@
 package com.smartparking.repository;
 
 import com.smartparking.entity.ParkingLot;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ParkingLotRepository extends JpaRepository<ParkingLot, String> {
     Optional<ParkingLot> findByName(String name);
+
+    @EntityGraph(attributePaths = "floors")
+    @Query("SELECT pl FROM ParkingLot pl")
+    List<ParkingLot> findAllWithFloors();
 }
@@ -0,0 +1,52 @@
+package com.smartparking.repository;
+
+import com.smartparking.entity.ParkingSession;
+import com.smartparking.repository.projection.SessionExportView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Repository
+public interface ParkingSessionRepository extends JpaRepository<ParkingSession, String> {
+    // Served by idx_parking_sessions_vehicle_time_in
+    Optional<ParkingSession> findFirstByVehicleVehicleIdOrderByTimeInDesc(String vehicleId);
+
+    // Keyset page of sessions that ended in [from, to), ordered by (timeOut, sessionId) on
+    // idx_parking_sessions_time_out. Read-only, with the fetch size of a default re-pricing chunk.
+    @Query("SELECT s FROM ParkingSession s " +
+            "WHERE s.timeOut >= :from AND s.timeOut < :to " +
+            "AND (:afterTimeOut IS NULL OR s.timeOut > :afterTimeOut " +
+            "OR (s.timeOut = :afterTimeOut AND s.sessionId > :afterSessionId)) " +
+            "ORDER BY s.timeOut, s.sessionId")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    List<ParkingSession> findEndedBetween(LocalDateTime from, LocalDateTime to,
+                                          LocalDateTime afterTimeOut, String afterSessionId, Pageable pageable);
+
+    // Flat rows for exports, streamed from a cursor; must be consumed inside a transaction.
+    // The slot is joined by id, so sessions on slots that no longer exist still export (without a lot).
+    @Query("SELECT s.sessionId AS sessionId, v.vehicleRegistration AS vehicleRegistration, " +
+            "s.vehicleType AS vehicleType, f.parkingLot.parkingLotId AS parkingLotId, f.floorId AS floorId, " +
+            "s.slotId AS slotId, s.timeIn AS timeIn, s.timeOut AS timeOut, s.amount AS amount " +
+            "FROM ParkingSession s JOIN s.vehicle v " +
+            "LEFT JOIN ParkingSlot ps ON ps.slotId = s.slotId LEFT JOIN ps.floor f " +
+            "WHERE (:from IS NULL OR s.timeOut >= :from) AND (:to IS NULL OR s.timeOut < :to) " +
+            "AND (:parkingLotId IS NULL OR f.parkingLot.parkingLotId = :parkingLotId) " +
+            "ORDER BY s.timeOut, s.sessionId")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<SessionExportView> streamForExport(LocalDateTime from, LocalDateTime to, String parkingLotId);
+}
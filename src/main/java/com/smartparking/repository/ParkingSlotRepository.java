@@ -1,12 +1,18 @@
 package com.smartparking.repository;
 
+import com.smartparking.dto.response.ParkingSlotResponse;
 import com.smartparking.entity.ParkingSlot;
 import com.smartparking.enums.SlotStatus;
 import com.smartparking.enums.SlotType;
+import com.smartparking.repository.projection.SlotAllocationView;
+import com.smartparking.repository.projection.SlotOccupancyView;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,4 +26,44 @@ public interface ParkingSlotRepository extends JpaRepository<ParkingSlot, String
     Optional<ParkingSlot> findFirstBySlotTypeAndSlotStatus(SlotType slotType, SlotStatus slotStatus);
 
     long countByFloorFloorIdAndSlotStatus(String floorId, SlotStatus slotStatus);
+
+    @Query("SELECT ps.slotId AS slotId, ps.slotType AS slotType, ps.slotStatus AS slotStatus, " +
+            "f.floorId AS floorId, f.floorNo AS floorNo, f.parkingLot.parkingLotId AS parkingLotId " +
+            "FROM ParkingSlot ps JOIN ps.floor f ORDER BY f.floorId, ps.slotType, ps.slotId")
+    List<SlotAllocationView> findAllocationViews();
+
+    // Flat projection for listings, so neither the floor nor the inverse vehicle side is loaded per slot.
+    // Rows exited before parking_sessions existed may still hold assigned_slot_id, so only a parked one counts.
+    @Query("SELECT new com.smartparking.dto.response.ParkingSlotResponse(" +
+            "ps.slotId, ps.slotStatus, ps.slotType, f.floorId, v.vehicleId) " +
+            "FROM ParkingSlot ps JOIN ps.floor f " +
+            "LEFT JOIN ps.currentVehicle v ON v.status = com.smartparking.enums.VehicleStatus.PARKED " +
+            "WHERE f.floorId IN :floorIds ORDER BY f.floorId, ps.slotId")
+    List<ParkingSlotResponse> findSlotResponsesByFloorIds(Collection<String> floorIds);
+
+    // Keyset page ordered by slot id; a null filter or cursor matches everything
+    @Query("SELECT new com.smartparking.dto.response.ParkingSlotResponse(" +
+            "ps.slotId, ps.slotStatus, ps.slotType, f.floorId, v.vehicleId) " +
+            "FROM ParkingSlot ps JOIN ps.floor f " +
+            "LEFT JOIN ps.currentVehicle v ON v.status = com.smartparking.enums.VehicleStatus.PARKED " +
+            "WHERE (:floorId IS NULL OR f.floorId = :floorId) " +
+            "AND (:slotType IS NULL OR ps.slotType = :slotType) " +
+            "AND (:slotStatus IS NULL OR ps.slotStatus = :slotStatus) " +
+            "AND (:afterSlotId IS NULL OR ps.slotId > :afterSlotId) " +
+            "ORDER BY ps.slotId")
+    List<ParkingSlotResponse> findSlotPage(String floorId, SlotType slotType, SlotStatus slotStatus,
+                                           String afterSlotId, Pageable pageable);
+
+    @Query("SELECT ps.floor.floorId AS floorId, ps.slotType AS slotType, COUNT(ps) AS occupied " +
+            "FROM ParkingSlot ps WHERE ps.slotStatus = :status GROUP BY ps.floor.floorId, ps.slotType")
+    List<SlotOccupancyView> countByFloorAndSlotType(SlotStatus status);
+
+    @Query("SELECT ps.slotId FROM ParkingSlot ps WHERE ps.slotId IN :slotIds AND ps.slotStatus = :status")
+    List<String> findSlotIdsByStatus(Collection<String> slotIds, SlotStatus status);
+
+    // Atomic compare-and-set on the slot row; returns 0 when another writer changed the status first
+    @Modifying
+    @Query("UPDATE ParkingSlot ps SET ps.slotStatus = :newStatus, ps.version = ps.version + 1 " +
+            "WHERE ps.slotId = :slotId AND ps.slotStatus = :expectedStatus")
+    int compareAndSetStatus(String slotId, SlotStatus expectedStatus, SlotStatus newStatus);
 }
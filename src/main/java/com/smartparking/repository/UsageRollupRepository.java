@@ -0,0 +1,68 @@
+package com.smartparking.repository;
+
+import com.smartparking.entity.UsageRollup;
+import com.smartparking.enums.RollupGranularity;
+import com.smartparking.enums.SlotType;
+import com.smartparking.repository.projection.FloorUsageView;
+import com.smartparking.repository.projection.UsageSeriesView;
+import com.smartparking.repository.projection.UsageTotalsView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UsageRollupRepository extends JpaRepository<UsageRollup, String> {
+    Optional<UsageRollup> findByGranularityAndBucketStartAndFloorIdAndSlotType(
+            RollupGranularity granularity, LocalDateTime bucketStart, String floorId, SlotType slotType);
+
+    @Query("SELECT MAX(r.bucketStart) FROM UsageRollup r WHERE r.granularity = :granularity")
+    Optional<LocalDateTime> findLatestBucket(RollupGranularity granularity);
+
+    @Query("SELECT MIN(r.bucketStart) FROM UsageRollup r WHERE r.granularity = :granularity")
+    Optional<LocalDateTime> findEarliestBucket(RollupGranularity granularity);
+
+    // Hourly rows of [from, to) summed per floor and slot type; used to build day rows
+    @Query("SELECT r.parkingLotId AS parkingLotId, r.floorId AS floorId, r.slotType AS slotType, " +
+            "SUM(r.entries) AS entries, SUM(r.exits) AS exits, " +
+            "SUM(r.occupiedMinutes) AS occupiedMinutes, SUM(r.revenue) AS revenue " +
+            "FROM UsageRollup r " +
+            "WHERE r.granularity = com.smartparking.enums.RollupGranularity.HOUR " +
+            "AND r.bucketStart >= :from AND r.bucketStart < :to " +
+            "GROUP BY r.parkingLotId, r.floorId, r.slotType")
+    List<UsageTotalsView> sumHours(LocalDateTime from, LocalDateTime to);
+
+    @Modifying
+    @Query("DELETE FROM UsageRollup r WHERE r.granularity = :granularity " +
+            "AND r.bucketStart >= :from AND r.bucketStart < :to")
+    int deleteBuckets(RollupGranularity granularity, LocalDateTime from, LocalDateTime to);
+
+    @Modifying
+    @Query("DELETE FROM UsageRollup r WHERE r.granularity = :granularity AND r.bucketStart < :before")
+    int deleteBucketsBefore(RollupGranularity granularity, LocalDateTime before);
+
+    // Time series for one lot on idx_usage_rollups_lot_bucket, optionally narrowed to a floor or slot type
+    @Query("SELECT r.bucketStart AS bucketStart, SUM(r.entries) AS entries, SUM(r.exits) AS exits, " +
+            "SUM(r.occupiedMinutes) AS occupiedMinutes, SUM(r.revenue) AS revenue " +
+            "FROM UsageRollup r " +
+            "WHERE r.granularity = :granularity AND r.parkingLotId = :parkingLotId " +
+            "AND r.bucketStart >= :from AND r.bucketStart < :to " +
+            "AND (:floorId IS NULL OR r.floorId = :floorId) " +
+            "AND (:slotType IS NULL OR r.slotType = :slotType) " +
+            "GROUP BY r.bucketStart ORDER BY r.bucketStart")
+    List<UsageSeriesView> findSeries(RollupGranularity granularity, String parkingLotId,
+                                     LocalDateTime from, LocalDateTime to, String floorId, SlotType slotType);
+
+    @Query("SELECT r.floorId AS floorId, SUM(r.entries) AS entries, SUM(r.exits) AS exits, " +
+            "SUM(r.occupiedMinutes) AS occupiedMinutes, SUM(r.revenue) AS revenue " +
+            "FROM UsageRollup r " +
+            "WHERE r.granularity = :granularity AND r.parkingLotId = :parkingLotId " +
+            "AND r.bucketStart >= :from AND r.bucketStart < :to " +
+            "GROUP BY r.floorId")
+    List<FloorUsageView> findFloorTotals(RollupGranularity granularity, String parkingLotId,
+                                         LocalDateTime from, LocalDateTime to);
+}
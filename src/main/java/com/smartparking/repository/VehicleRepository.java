@@ -2,15 +2,40 @@ package com.smartparking.repository;
 
 import com.smartparking.entity.Vehicle;
 import com.smartparking.enums.VehicleStatus;
+import com.smartparking.repository.projection.ParkedVehicleView;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface VehicleRepository extends JpaRepository<Vehicle, String> {
-    Optional<Vehicle> findByVehicleRegistration(String vehicleRegistration);
+    // Latest row for the plate; registrations that predate parking_sessions may have several
+    Optional<Vehicle> findFirstByVehicleRegistrationOrderByTimeInDesc(String vehicleRegistration);
     List<Vehicle> findByStatus(VehicleStatus status);
+
+    // Served by idx_vehicles_registration_status; at most one PARKED row exists per registration
     Optional<Vehicle> findByVehicleRegistrationAndStatus(String vehicleRegistration, VehicleStatus status);
+
+    // Seeds ParkedVehicleIndex; served by idx_vehicles_status_time_in
+    @Query("SELECT v.vehicleId AS vehicleId, v.vehicleRegistration AS vehicleRegistration, " +
+            "v.vehicleType AS vehicleType, s.slotId AS slotId, v.timeIn AS timeIn " +
+            "FROM Vehicle v LEFT JOIN v.assignedSlot s " +
+            "WHERE v.status = com.smartparking.enums.VehicleStatus.PARKED")
+    List<ParkedVehicleView> findParkedVehicleViews();
+
+    // Keyset page ordered by (timeIn, vehicleId); the id breaks ties between vehicles entering together
+    @Query("SELECT v FROM Vehicle v " +
+            "WHERE (:status IS NULL OR v.status = :status) " +
+            "AND (:from IS NULL OR v.timeIn >= :from) " +
+            "AND (:to IS NULL OR v.timeIn < :to) " +
+            "AND (:afterTimeIn IS NULL OR v.timeIn > :afterTimeIn " +
+            "OR (v.timeIn = :afterTimeIn AND v.vehicleId > :afterVehicleId)) " +
+            "ORDER BY v.timeIn, v.vehicleId")
+    List<Vehicle> findPage(VehicleStatus status, LocalDateTime from, LocalDateTime to,
+                           LocalDateTime afterTimeIn, String afterVehicleId, Pageable pageable);
 }
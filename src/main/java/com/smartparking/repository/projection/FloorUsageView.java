@@ -0,0 +1,9 @@
+package com.smartparking.repository.projection;
+
+public interface FloorUsageView {
+    String getFloorId();
+    Long getEntries();
+    Long getExits();
+    Double getOccupiedMinutes();
+    Double getRevenue();
+}
@@ -0,0 +1,13 @@
+package com.smartparking.repository.projection;
+
+import com.smartparking.enums.VehicleType;
+
+import java.time.LocalDateTime;
+
+public interface ParkedVehicleView {
+    String getVehicleId();
+    String getVehicleRegistration();
+    VehicleType getVehicleType();
+    String getSlotId();
+    LocalDateTime getTimeIn();
+}
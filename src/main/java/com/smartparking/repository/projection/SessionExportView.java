@@ -0,0 +1,17 @@
+package com.smartparking.repository.projection;
+
+import com.smartparking.enums.VehicleType;
+
+import java.time.LocalDateTime;
+
+public interface SessionExportView {
+    String getSessionId();
+    String getVehicleRegistration();
+    VehicleType getVehicleType();
+    String getParkingLotId();
+    String getFloorId();
+    String getSlotId();
+    LocalDateTime getTimeIn();
+    LocalDateTime getTimeOut();
+    Double getAmount();
+}
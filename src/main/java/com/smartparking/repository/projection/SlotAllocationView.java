@@ -0,0 +1,13 @@
+package com.smartparking.repository.projection;
+
+import com.smartparking.enums.SlotStatus;
+import com.smartparking.enums.SlotType;
+
+public interface SlotAllocationView {
+    String getSlotId();
+    SlotType getSlotType();
+    SlotStatus getSlotStatus();
+    String getFloorId();
+    Integer getFloorNo();
+    String getParkingLotId();
+}
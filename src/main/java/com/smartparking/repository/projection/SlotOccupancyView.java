@@ -0,0 +1,9 @@
+package com.smartparking.repository.projection;
+
+import com.smartparking.enums.SlotType;
+
+public interface SlotOccupancyView {
+    String getFloorId();
+    SlotType getSlotType();
+    Long getOccupied();
+}
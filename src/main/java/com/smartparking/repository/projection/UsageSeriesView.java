@@ -0,0 +1,11 @@
+package com.smartparking.repository.projection;
+
+import java.time.LocalDateTime;
+
+public interface UsageSeriesView {
+    LocalDateTime getBucketStart();
+    Long getEntries();
+    Long getExits();
+    Double getOccupiedMinutes();
+    Double getRevenue();
+}
@@ -0,0 +1,13 @@
+package com.smartparking.repository.projection;
+
+import com.smartparking.enums.SlotType;
+
+public interface UsageTotalsView {
+    String getParkingLotId();
+    String getFloorId();
+    SlotType getSlotType();
+    Long getEntries();
+    Long getExits();
+    Double getOccupiedMinutes();
+    Double getRevenue();
+}
@@ -1,11 +1,11 @@
 package com.smartparking.security;
 
-import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.auth.FirebaseToken;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import com.smartparking.service.metrics.ParkingMetrics;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -17,9 +17,18 @@ import java.io.IOException;
 import java.util.ArrayList;
 
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class FirebaseAuthenticationFilter extends OncePerRequestFilter {
 
+    // Browser EventSource cannot set headers, so the slot-status stream also takes the token as a query parameter
+    private static final String EVENT_STREAM_PATH = "/api/parking-lots/events";
+    private static final String ACCESS_TOKEN_PARAM = "access_token";
+
+    private final TokenVerifier tokenVerifier;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final ParkingMetrics parkingMetrics;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
@@ -27,17 +36,28 @@ public class FirebaseAuthenticationFilter extends OncePerRequestFilter {
 
         // Get Authorization header
         String authorizationHeader = request.getHeader("Authorization");
-
+        String token = null;
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            String token = authorizationHeader.substring(7);
+            token = authorizationHeader.substring(7);
+        } else if (authorizationHeader == null && isEventStream(request)) {
+            token = request.getParameter(ACCESS_TOKEN_PARAM);
+        }
 
-            try {
-                // Verify Firebase token
-                FirebaseToken decodedToken = FirebaseAuth.getInstance().verifyIdToken(token);
-                String uid = decodedToken.getUid();
-                String email = decodedToken.getEmail();
+        if (token != null) {
+            String bearer = token;
 
-                log.info("Authenticated user: {} ({})", email, uid);
+            try {
+                // Terminals resend the same token for its whole lifetime, so only verify it once
+                VerifiedTokenCache.VerifiedToken verified = verifiedTokenCache.get(token);
+                if (verified == null) {
+                    verified = verifiedTokenCache.put(token,
+                            parkingMetrics.timeTokenVerification(() -> tokenVerifier.verify(bearer)));
+                    log.debug("Verified token for user: {} ({})", verified.email(), verified.uid());
+                }
+                if (verifiedTokenCache.isRevoked(verified)) {
+                    throw new IllegalStateException("Token has been revoked");
+                }
+                String uid = verified.uid();
 
                 // Create Spring Security Authentication
                 UsernamePasswordAuthenticationToken authentication =
@@ -58,4 +78,9 @@ public class FirebaseAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    private static boolean isEventStream(HttpServletRequest request) {
+        return "GET".equals(request.getMethod())
+                && EVENT_STREAM_PATH.equals(request.getRequestURI().substring(request.getContextPath().length()));
+    }
 }
@@ -0,0 +1,26 @@
+package com.smartparking.security;
+
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseAuthException;
+import com.google.firebase.auth.FirebaseToken;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+@Component
+@Profile("!loadtest")
+public class FirebaseTokenVerifier implements TokenVerifier {
+
+    @Override
+    public VerifiedTokenCache.VerifiedToken verify(String token) throws FirebaseAuthException {
+        FirebaseToken decodedToken = FirebaseAuth.getInstance().verifyIdToken(token);
+        return new VerifiedTokenCache.VerifiedToken(decodedToken.getUid(), decodedToken.getEmail(),
+                claimInstant(decodedToken, "iat"), claimInstant(decodedToken, "exp"));
+    }
+
+    private static Instant claimInstant(FirebaseToken decodedToken, String claim) {
+        Object value = decodedToken.getClaims().get(claim);
+        return value instanceof Number seconds ? Instant.ofEpochSecond(seconds.longValue()) : null;
+    }
+}
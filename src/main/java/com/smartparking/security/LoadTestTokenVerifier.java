@@ -0,0 +1,31 @@
+package com.smartparking.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+// Stand-in for load tests: accepts "loadtest:<uid>" without contacting Firebase.
+// Only active with the loadtest profile; never enable it on a deployed instance.
+@Component
+@Profile("loadtest")
+@Slf4j
+public class LoadTestTokenVerifier implements TokenVerifier {
+
+    private static final String PREFIX = "loadtest:";
+
+    public LoadTestTokenVerifier() {
+        log.warn("loadtest profile active: bearer tokens are NOT verified with Firebase");
+    }
+
+    @Override
+    public VerifiedTokenCache.VerifiedToken verify(String token) {
+        if (!token.startsWith(PREFIX) || token.length() == PREFIX.length()) {
+            throw new IllegalArgumentException("Expected a token of the form " + PREFIX + "<uid>");
+        }
+        String uid = token.substring(PREFIX.length());
+        Instant now = Instant.now();
+        return new VerifiedTokenCache.VerifiedToken(uid, uid + "@loadtest.local", now, now.plusSeconds(3600));
+    }
+}
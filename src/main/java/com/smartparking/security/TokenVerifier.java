@@ -0,0 +1,6 @@
+package com.smartparking.security;
+
+// Checks a bearer token and decodes the caller it identifies. Throws when the token is not valid.
+public interface TokenVerifier {
+    VerifiedTokenCache.VerifiedToken verify(String token) throws Exception;
+}
@@ -0,0 +1,126 @@
+package com.smartparking.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Bounded cache of Firebase ID tokens that already passed signature verification, keyed by
+// a SHA-256 of the token so raw tokens are never held. An entry lives until the token's exp
+// claim, capped at max-ttl so an invalidation elsewhere is picked up reasonably soon.
+// Revocations made through this instance also reject tokens issued before them.
+@Component
+public class VerifiedTokenCache {
+
+    private final int maxEntries;
+    private final long maxTtlSeconds;
+
+    // Firebase ID tokens live for an hour, so a revocation only has to be remembered that long
+    private static final long ID_TOKEN_LIFETIME_SECONDS = 3600;
+
+    private final Map<String, VerifiedToken> tokens = new ConcurrentHashMap<>();
+    private final Map<String, Instant> revokedBefore = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public VerifiedTokenCache(
+            @Value("${security.token-cache.max-entries:10000}") int maxEntries,
+            @Value("${security.token-cache.max-ttl-seconds:300}") long maxTtlSeconds) {
+        this.maxEntries = maxEntries;
+        this.maxTtlSeconds = maxTtlSeconds;
+    }
+
+    public VerifiedToken get(String token) {
+        String key = hash(token);
+        VerifiedToken cached = tokens.get(key);
+        if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+            hits.increment();
+            return cached;
+        }
+        if (cached != null) {
+            tokens.remove(key, cached);
+        }
+        misses.increment();
+        return null;
+    }
+
+    public VerifiedToken put(String token, VerifiedToken decoded) {
+        Instant now = Instant.now();
+        Instant cap = now.plusSeconds(maxTtlSeconds);
+        VerifiedToken verified = new VerifiedToken(decoded.uid(), decoded.email(), decoded.issuedAt(),
+                decoded.expiresAt() != null && decoded.expiresAt().isBefore(cap) ? decoded.expiresAt() : cap);
+        if (!verified.expiresAt().isAfter(now)) {
+            return verified;
+        }
+        if (tokens.size() >= maxEntries) {
+            evictExpired();
+            if (tokens.size() >= maxEntries) {
+                // Full of live tokens; verifying this one again next time is cheaper than churning the map
+                rejected.increment();
+                return verified;
+            }
+        }
+        tokens.put(hash(token), verified);
+        return verified;
+    }
+
+    public void invalidate(String token) {
+        tokens.remove(hash(token));
+    }
+
+    // Drops every cached token of a user and rejects any of their tokens issued until now
+    public void revokeUser(String uid) {
+        revokedBefore.put(uid, Instant.now());
+        tokens.values().removeIf(cached -> cached.uid().equals(uid));
+    }
+
+    public boolean isRevoked(VerifiedToken verified) {
+        Instant revokedAt = revokedBefore.get(verified.uid());
+        return revokedAt != null && (verified.issuedAt() == null || !verified.issuedAt().isAfter(revokedAt));
+    }
+
+    @Scheduled(fixedDelayString = "${security.token-cache.cleanup-interval-ms:60000}")
+    public void evictExpired() {
+        Instant now = Instant.now();
+        tokens.values().removeIf(cached -> !cached.expiresAt().isAfter(now));
+        revokedBefore.values().removeIf(revokedAt -> revokedAt.plusSeconds(ID_TOKEN_LIFETIME_SECONDS).isBefore(now));
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    public int size() {
+        return tokens.size();
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public record VerifiedToken(String uid, String email, Instant issuedAt, Instant expiresAt) {
+    }
+}
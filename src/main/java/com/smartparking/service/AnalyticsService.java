@@ -0,0 +1,16 @@
+package com.smartparking.service;
+
+import com.smartparking.dto.response.FloorRevenueResponse;
+import com.smartparking.dto.response.UsageBucketResponse;
+import com.smartparking.enums.RollupGranularity;
+import com.smartparking.enums.SlotType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface AnalyticsService {
+    List<UsageBucketResponse> getOccupancy(String parkingLotId, String floorId, SlotType slotType,
+                                           LocalDateTime from, LocalDateTime to, RollupGranularity granularity);
+    List<FloorRevenueResponse> getRevenueByFloor(String parkingLotId, LocalDateTime from, LocalDateTime to,
+                                                 RollupGranularity granularity);
+}
@@ -5,4 +5,5 @@ import com.smartparking.dto.response.UserInfoResponse;
 public interface AuthService {
     UserInfoResponse getUserInfo(String uid);
     UserInfoResponse getCurrentUser();
+    void revokeCurrentUserTokens();
 }
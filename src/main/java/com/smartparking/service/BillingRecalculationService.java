@@ -0,0 +1,14 @@
+package com.smartparking.service;
+
+import com.smartparking.dto.request.BillingRecalculationRequest;
+import com.smartparking.dto.response.BillingRecalculationResponse;
+
+import java.util.List;
+
+public interface BillingRecalculationService {
+    BillingRecalculationResponse startRecalculation(BillingRecalculationRequest request);
+    BillingRecalculationResponse resumeRecalculation(String recalculationId);
+    BillingRecalculationResponse cancelRecalculation(String recalculationId);
+    BillingRecalculationResponse getRecalculation(String recalculationId);
+    List<BillingRecalculationResponse> getAllRecalculations();
+}
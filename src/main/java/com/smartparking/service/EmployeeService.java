@@ -2,6 +2,7 @@ package com.smartparking.service;
 
 import com.smartparking.dto.request.EmployeeRequest;
 import com.smartparking.dto.response.EmployeeResponse;
+import com.smartparking.dto.response.PageResponse;
 
 import java.util.List;
 
@@ -10,6 +11,7 @@ public interface EmployeeService {
     EmployeeResponse getEmployeeById(String empId);
     EmployeeResponse getEmployeeByEmail(String email);
     List<EmployeeResponse> getAllEmployees();
+    PageResponse<EmployeeResponse> getEmployees(String cursor, Integer limit);
     EmployeeResponse updateEmployee(String empId, EmployeeRequest request);
     void deleteEmployee(String empId);
 }
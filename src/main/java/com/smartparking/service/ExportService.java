@@ -0,0 +1,14 @@
+package com.smartparking.service;
+
+import com.smartparking.enums.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+public interface ExportService {
+    // Checks the filters up front, so bad input is rejected before the response starts streaming
+    void validateSessionExport(LocalDateTime from, LocalDateTime to);
+    void exportSessions(LocalDateTime from, LocalDateTime to, String parkingLotId, ExportFormat format,
+                        OutputStream out) throws IOException;
+}
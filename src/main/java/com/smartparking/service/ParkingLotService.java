@@ -1,9 +1,15 @@
 package com.smartparking.service;
 
 import com.smartparking.dto.request.FloorRequest;
+import com.smartparking.dto.request.ParkingLotProvisionRequest;
 import com.smartparking.dto.request.ParkingLotRequest;
+import com.smartparking.dto.response.AvailabilitySummaryResponse;
 import com.smartparking.dto.response.FloorResponse;
+import com.smartparking.dto.response.PageResponse;
 import com.smartparking.dto.response.ParkingLotResponse;
+import com.smartparking.dto.response.ParkingSlotResponse;
+import com.smartparking.enums.SlotStatus;
+import com.smartparking.enums.SlotType;
 
 import java.util.List;
 
@@ -12,6 +18,11 @@ public interface ParkingLotService {
     ParkingLotResponse getParkingLotById(String parkingLotId);
     List<ParkingLotResponse> getAllParkingLots();
     FloorResponse addFloor(FloorRequest request);
+    ParkingLotResponse provisionParkingLot(ParkingLotProvisionRequest request);
     FloorResponse getFloorById(String floorId);
     List<FloorResponse> getFloorsByParkingLotId(String parkingLotId);
+    PageResponse<ParkingSlotResponse> getSlots(String floorId, SlotType slotType, SlotStatus slotStatus,
+                                               String cursor, Integer limit);
+    List<AvailabilitySummaryResponse> getAvailabilitySummaries();
+    AvailabilitySummaryResponse getAvailabilitySummary(String parkingLotId);
 }
@@ -1,12 +1,23 @@
 package com.smartparking.service;
 
 import com.smartparking.dto.request.BillUpdateRequest;
+import com.smartparking.dto.request.GateEventRequest;
 import com.smartparking.dto.request.VehicleEntryRequest;
+import com.smartparking.dto.response.GateEventResultResponse;
+import com.smartparking.dto.response.PageResponse;
 import com.smartparking.dto.response.VehicleResponse;
+import com.smartparking.enums.VehicleStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 public interface ParkingService {
     VehicleResponse parkVehicle(VehicleEntryRequest request);
     VehicleResponse exitVehicle(String vehicleRegistration);
+    List<GateEventResultResponse> processGateEvents(List<GateEventRequest> events);
     VehicleResponse getVehicleByRegistration(String vehicleRegistration);
+    VehicleResponse quoteVehicle(String vehicleRegistration);
+    PageResponse<VehicleResponse> getVehicles(VehicleStatus status, LocalDateTime from, LocalDateTime to,
+                                              String cursor, Integer limit);
     VehicleResponse updateBillAmount(String vehicleId, BillUpdateRequest request);
 }
@@ -0,0 +1,181 @@
+package com.smartparking.service.allocation;
+
+import com.smartparking.entity.ParkingSlot;
+import com.smartparking.enums.SlotStatus;
+import com.smartparking.enums.SlotType;
+import com.smartparking.repository.ParkingSlotRepository;
+import com.smartparking.repository.projection.SlotAllocationView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// In-memory index of free slots. The parking_slots table stays the durable record;
+// this is only the search structure used to hand out slots on entry.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SlotAllocator implements SmartInitializingSingleton {
+
+    private static final Comparator<SlotPool> POOL_ORDER = Comparator
+            .comparing(SlotPool::parkingLotId)
+            .thenComparingInt(SlotPool::floorNo);
+
+    private final ParkingSlotRepository parkingSlotRepository;
+
+    private final Map<SlotType, List<SlotPool>> poolsByType = new ConcurrentHashMap<>();
+    private final Map<String, SlotRef> slotsById = new ConcurrentHashMap<>();
+    // Claimed slots whose row turned out not to be AVAILABLE; held out of the pool until a recheck frees them
+    private final Set<String> quarantined = ConcurrentHashMap.newKeySet();
+
+    // Runs before the web server starts, so no request sees an empty index. Floors created later,
+    // including DataInitializer's seed, are added through registerFloor.
+    @Override
+    public void afterSingletonsInstantiated() {
+        Map<String, List<SlotAllocationView>> byPool = new LinkedHashMap<>();
+        for (SlotAllocationView view : parkingSlotRepository.findAllocationViews()) {
+            byPool.computeIfAbsent(view.getFloorId() + "|" + view.getSlotType(), k -> new ArrayList<>()).add(view);
+        }
+
+        for (List<SlotAllocationView> views : byPool.values()) {
+            SlotAllocationView first = views.get(0);
+            String[] slotIds = new String[views.size()];
+            BitSet free = new BitSet(views.size());
+            for (int i = 0; i < views.size(); i++) {
+                slotIds[i] = views.get(i).getSlotId();
+                if (views.get(i).getSlotStatus() == SlotStatus.AVAILABLE) {
+                    free.set(i);
+                }
+            }
+            addPool(new SlotPool(first.getParkingLotId(), first.getFloorId(), first.getFloorNo(),
+                    first.getSlotType(), slotIds, free));
+        }
+
+        log.info("Slot allocator loaded {} slots in {} pools", slotsById.size(), byPool.size());
+    }
+
+    // Registers the slots of a newly created floor; call once the slots are committed
+    public void registerFloor(String parkingLotId, String floorId, int floorNo, List<ParkingSlot> slots) {
+        Map<SlotType, List<ParkingSlot>> byType = new EnumMap<>(SlotType.class);
+        for (ParkingSlot slot : slots) {
+            byType.computeIfAbsent(slot.getSlotType(), k -> new ArrayList<>()).add(slot);
+        }
+
+        byType.forEach((slotType, typeSlots) -> {
+            String[] slotIds = new String[typeSlots.size()];
+            BitSet free = new BitSet(typeSlots.size());
+            for (int i = 0; i < typeSlots.size(); i++) {
+                slotIds[i] = typeSlots.get(i).getSlotId();
+                if (typeSlots.get(i).getSlotStatus() == SlotStatus.AVAILABLE) {
+                    free.set(i);
+                }
+            }
+            addPool(new SlotPool(parkingLotId, floorId, floorNo, slotType, slotIds, free));
+        });
+    }
+
+    // Claims a free slot of the given type, lowest floor first
+    public Optional<SlotClaim> claim(SlotType slotType) {
+        for (SlotPool pool : poolsByType.getOrDefault(slotType, List.of())) {
+            int index = pool.claim();
+            if (index >= 0) {
+                return Optional.of(new SlotClaim(pool.slotIdAt(index), pool.floorId(),
+                        pool.parkingLotId(), slotType));
+            }
+        }
+        return Optional.empty();
+    }
+
+    // Looks up where a known slot lives without touching the database
+    public Optional<SlotClaim> locate(String slotId) {
+        SlotRef ref = slotsById.get(slotId);
+        if (ref == null) {
+            return Optional.empty();
+        }
+        SlotPool pool = ref.pool();
+        return Optional.of(new SlotClaim(slotId, pool.floorId(), pool.parkingLotId(), pool.slotType()));
+    }
+
+    // Point-in-time counts per pool, ordered by lot and floor
+    public List<SlotPoolSnapshot> snapshot() {
+        List<SlotPoolSnapshot> snapshots = new ArrayList<>();
+        for (List<SlotPool> pools : poolsByType.values()) {
+            for (SlotPool pool : pools) {
+                snapshots.add(new SlotPoolSnapshot(pool.parkingLotId(), pool.floorId(), pool.floorNo(),
+                        pool.slotType(), pool.capacity(), pool.freeCount()));
+            }
+        }
+        snapshots.sort(Comparator.comparing(SlotPoolSnapshot::parkingLotId)
+                .thenComparingInt(SlotPoolSnapshot::floorNo)
+                .thenComparing(SlotPoolSnapshot::slotType));
+        return snapshots;
+    }
+
+    // Returns a slot to its pool; a no-op for unknown or already free slots
+    public void release(String slotId) {
+        SlotRef ref = slotsById.get(slotId);
+        if (ref != null) {
+            quarantined.remove(slotId);
+            ref.pool().release(ref.index());
+        }
+    }
+
+    // Call with a claimed slot whose row was changed outside this instance. It stays claimed in memory
+    // until recheckQuarantined finds the row AVAILABLE again, so repeated external edits cannot shrink the pool.
+    public void quarantine(String slotId) {
+        if (slotsById.containsKey(slotId)) {
+            quarantined.add(slotId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${parking.allocator.recheck-interval-ms:30000}")
+    public void recheckQuarantined() {
+        if (quarantined.isEmpty()) {
+            return;
+        }
+        int returned = 0;
+        List<String> free = parkingSlotRepository.findSlotIdsByStatus(List.copyOf(quarantined), SlotStatus.AVAILABLE);
+        for (String slotId : free) {
+            // A slot released by an exit meanwhile has already left the set and may be claimed again
+            if (quarantined.remove(slotId)) {
+                SlotRef ref = slotsById.get(slotId);
+                ref.pool().release(ref.index());
+                returned++;
+            }
+        }
+        if (returned > 0) {
+            log.info("Returned {} quarantined slots to the pool, {} still held out", returned, quarantined.size());
+        }
+    }
+
+    public int quarantinedCount() {
+        return quarantined.size();
+    }
+
+    private synchronized void addPool(SlotPool pool) {
+        for (int i = 0; i < pool.capacity(); i++) {
+            slotsById.put(pool.slotIdAt(i), new SlotRef(pool, i));
+        }
+
+        List<SlotPool> pools = new ArrayList<>(poolsByType.getOrDefault(pool.slotType(), List.of()));
+        pools.removeIf(existing -> existing.floorId().equals(pool.floorId()));
+        pools.add(pool);
+        pools.sort(POOL_ORDER);
+        poolsByType.put(pool.slotType(), List.copyOf(pools));
+    }
+
+    private record SlotRef(SlotPool pool, int index) {
+    }
+}
@@ -0,0 +1,6 @@
+package com.smartparking.service.allocation;
+
+import com.smartparking.enums.SlotType;
+
+public record SlotClaim(String slotId, String floorId, String parkingLotId, SlotType slotType) {
+}
@@ -0,0 +1,104 @@
+package com.smartparking.service.allocation;
+
+import com.smartparking.enums.SlotType;
+
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Free-slot bitset for one (lot, floor, slot type). Bits are claimed and released with CAS, so no locks are taken.
+final class SlotPool {
+
+    private final String parkingLotId;
+    private final String floorId;
+    private final int floorNo;
+    private final SlotType slotType;
+    private final String[] slotIds;
+    private final AtomicLongArray free;
+    private final AtomicInteger freeCount;
+
+    // Word where the last claim succeeded; a racy hint is fine, it only shortens the scan
+    private int hint;
+
+    SlotPool(String parkingLotId, String floorId, int floorNo, SlotType slotType,
+             String[] slotIds, BitSet initiallyFree) {
+        this.parkingLotId = parkingLotId;
+        this.floorId = floorId;
+        this.floorNo = floorNo;
+        this.slotType = slotType;
+        this.slotIds = slotIds;
+
+        long[] words = initiallyFree.toLongArray();
+        this.free = new AtomicLongArray((slotIds.length + 63) >>> 6);
+        for (int i = 0; i < words.length && i < free.length(); i++) {
+            free.set(i, words[i]);
+        }
+        this.freeCount = new AtomicInteger(initiallyFree.cardinality());
+    }
+
+    int claim() {
+        if (freeCount.get() == 0) {
+            return -1;
+        }
+
+        int words = free.length();
+        int start = hint;
+        for (int n = 0; n < words; n++) {
+            int word = (start + n) % words;
+            long bits = free.get(word);
+            while (bits != 0) {
+                long lowest = bits & -bits;
+                if (free.compareAndSet(word, bits, bits & ~lowest)) {
+                    freeCount.decrementAndGet();
+                    hint = word;
+                    return (word << 6) + Long.numberOfTrailingZeros(lowest);
+                }
+                bits = free.get(word);
+            }
+        }
+        return -1;
+    }
+
+    boolean release(int index) {
+        int word = index >>> 6;
+        long mask = 1L << index;
+        while (true) {
+            long bits = free.get(word);
+            if ((bits & mask) != 0) {
+                return false;
+            }
+            if (free.compareAndSet(word, bits, bits | mask)) {
+                freeCount.incrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    String slotIdAt(int index) {
+        return slotIds[index];
+    }
+
+    int capacity() {
+        return slotIds.length;
+    }
+
+    int freeCount() {
+        return freeCount.get();
+    }
+
+    String parkingLotId() {
+        return parkingLotId;
+    }
+
+    String floorId() {
+        return floorId;
+    }
+
+    int floorNo() {
+        return floorNo;
+    }
+
+    SlotType slotType() {
+        return slotType;
+    }
+}
@@ -0,0 +1,7 @@
+package com.smartparking.service.allocation;
+
+import com.smartparking.enums.SlotType;
+
+public record SlotPoolSnapshot(String parkingLotId, String floorId, int floorNo, SlotType slotType,
+                               int totalSlots, int availableSlots) {
+}
@@ -0,0 +1,209 @@
+package com.smartparking.service.events;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Pushes committed slot-status changes to SSE subscribers. Changes are coalesced per slot
+// and fanned out once per flush interval. Each subscriber has at most one send in flight, on a
+// sender thread of its own, and changes arriving meanwhile are coalesced into its backlog, so a
+// slow board only delays itself. A send still blocked after the write timeout (a client that
+// stopped reading) disconnects the subscriber, which can reconnect and resync.
+// Locks are ReentrantLocks rather than monitors, so virtual threads publishing from the
+// request path park instead of pinning their carrier while contending.
+@Component
+@Slf4j
+public class SlotStatusBroadcaster {
+
+    private final long emitterTimeoutMs;
+    private final long writeTimeoutNanos;
+    // Unbounded, but with one send in flight per subscriber it never holds more threads than subscribers.
+    // Platform threads: SseEmitter sends hold its monitor while writing, which would pin a virtual thread.
+    private final ExecutorService sender = Executors.newCachedThreadPool();
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    // Latest change per slot since the last flush; guarded by pendingLock
+    private final Map<String, SlotStatusEvent> pending = new LinkedHashMap<>();
+    private final ReentrantLock pendingLock = new ReentrantLock();
+
+    public SlotStatusBroadcaster(
+            @Value("${parking.events.emitter-timeout-ms:1800000}") long emitterTimeoutMs,
+            @Value("${parking.events.write-timeout-ms:10000}") long writeTimeoutMs) {
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.writeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeoutMs);
+    }
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    // Call once the change is committed, e.g. from TransactionHooks.afterCommit
+    public void publish(SlotStatusEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        pendingLock.lock();
+        try {
+            pending.remove(event.slotId());
+            pending.put(event.slotId(), event);
+        } finally {
+            pendingLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${parking.events.flush-interval-ms:250}")
+    public void flush() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.stalled(now)) {
+                subscriber.disconnect("send blocked for more than the write timeout");
+            }
+        }
+
+        List<SlotStatusEvent> batch;
+        pendingLock.lock();
+        try {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = new ArrayList<>(pending.values());
+            pending.clear();
+        } finally {
+            pendingLock.unlock();
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(batch, false);
+        }
+    }
+
+    // Keeps idle connections open through proxies and finds clients that went away
+    @Scheduled(fixedDelayString = "${parking.events.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(List.of(), true);
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        sender.shutdownNow();
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+
+        // Guards the three fields below
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, SlotStatusEvent> backlog = new LinkedHashMap<>();
+        private boolean heartbeatDue;
+        private boolean sending;
+
+        // nanoTime at which the current emitter.send started; only meaningful while writing
+        private volatile long writeStartedAt;
+        private volatile boolean writing;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private void offer(List<SlotStatusEvent> events, boolean heartbeat) {
+            lock.lock();
+            try {
+                // The backlog holds at most one change per slot, however long the current send takes
+                for (SlotStatusEvent event : events) {
+                    backlog.remove(event.slotId());
+                    backlog.put(event.slotId(), event);
+                }
+                heartbeatDue |= heartbeat;
+                if (sending) {
+                    return;
+                }
+                sending = true;
+            } finally {
+                lock.unlock();
+            }
+            sender.execute(this::drain);
+        }
+
+        private boolean stalled(long now) {
+            return writing && now - writeStartedAt > writeTimeoutNanos;
+        }
+
+        private void drain() {
+            while (true) {
+                List<SlotStatusEvent> batch;
+                boolean heartbeat;
+                lock.lock();
+                try {
+                    if (backlog.isEmpty() && !heartbeatDue) {
+                        sending = false;
+                        return;
+                    }
+                    batch = new ArrayList<>(backlog.values());
+                    heartbeat = heartbeatDue && batch.isEmpty();
+                    backlog.clear();
+                    heartbeatDue = false;
+                } finally {
+                    lock.unlock();
+                }
+                try {
+                    writeStartedAt = System.nanoTime();
+                    writing = true;
+                    if (heartbeat) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        emitter.send(SseEmitter.event().name("slot-status").data(batch, MediaType.APPLICATION_JSON));
+                    }
+                    writing = false;
+                } catch (IOException | IllegalStateException e) {
+                    writing = false;
+                    lock.lock();
+                    try {
+                        sending = false;
+                    } finally {
+                        lock.unlock();
+                    }
+                    disconnect(e.getMessage());
+                    return;
+                }
+            }
+        }
+
+        // Stops fan-out to the subscriber at once. Completing the emitter waits for any send still
+        // holding its monitor, so that part runs on a sender thread rather than the caller's.
+        private void disconnect(String reason) {
+            if (subscribers.remove(this)) {
+                log.debug("Dropping slot-status subscriber: {}", reason);
+                sender.execute(emitter::complete);
+            }
+        }
+    }
+}
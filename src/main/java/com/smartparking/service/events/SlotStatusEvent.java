@@ -0,0 +1,7 @@
+package com.smartparking.service.events;
+
+import com.smartparking.enums.SlotStatus;
+import com.smartparking.enums.SlotType;
+
+public record SlotStatusEvent(String slotId, String floorId, String parkingLotId, SlotType slotType, SlotStatus status) {
+}
@@ -0,0 +1,76 @@
+package com.smartparking.service.impl;
+
+import com.smartparking.dto.response.FloorRevenueResponse;
+import com.smartparking.dto.response.UsageBucketResponse;
+import com.smartparking.enums.RollupGranularity;
+import com.smartparking.enums.SlotType;
+import com.smartparking.exception.InvalidOperationException;
+import com.smartparking.repository.UsageRollupRepository;
+import com.smartparking.service.AnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Answers chart queries from usage_rollups only; a year of day buckets is a few hundred rows per floor
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class AnalyticsServiceImpl implements AnalyticsService {
+
+    private final UsageRollupRepository usageRollupRepository;
+
+    @Override
+    public List<UsageBucketResponse> getOccupancy(String parkingLotId, String floorId, SlotType slotType,
+                                                  LocalDateTime from, LocalDateTime to,
+                                                  RollupGranularity granularity) {
+        validateRange(from, to);
+        double bucketMinutes = granularity == RollupGranularity.HOUR ? 60 : 24 * 60;
+        return usageRollupRepository.findSeries(granularity, parkingLotId, align(from, granularity), to,
+                        floorId, slotType).stream()
+                .map(bucket -> UsageBucketResponse.builder()
+                        .bucketStart(bucket.getBucketStart())
+                        .entries(bucket.getEntries())
+                        .exits(bucket.getExits())
+                        .occupiedMinutes(bucket.getOccupiedMinutes())
+                        .averageOccupied(bucket.getOccupiedMinutes() / bucketMinutes)
+                        .revenue(round(bucket.getRevenue()))
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<FloorRevenueResponse> getRevenueByFloor(String parkingLotId, LocalDateTime from, LocalDateTime to,
+                                                        RollupGranularity granularity) {
+        validateRange(from, to);
+        return usageRollupRepository.findFloorTotals(granularity, parkingLotId, align(from, granularity), to)
+                .stream()
+                .map(floor -> FloorRevenueResponse.builder()
+                        .floorId(floor.getFloorId())
+                        .entries(floor.getEntries())
+                        .exits(floor.getExits())
+                        .occupiedMinutes(floor.getOccupiedMinutes())
+                        .revenue(round(floor.getRevenue()))
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private void validateRange(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new InvalidOperationException("From must be before to");
+        }
+    }
+
+    // A range starting mid-bucket still includes that bucket
+    private static LocalDateTime align(LocalDateTime time, RollupGranularity granularity) {
+        return time.truncatedTo(granularity == RollupGranularity.HOUR ? ChronoUnit.HOURS : ChronoUnit.DAYS);
+    }
+
+    private static double round(double amount) {
+        return Math.round(amount * 100.0) / 100.0;
+    }
+}
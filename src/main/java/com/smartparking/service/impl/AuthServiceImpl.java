@@ -2,12 +2,15 @@ package com.smartparking.service.impl;
 
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseAuthException;
-import com.google.firebase.auth.UserRecord;
 import com.smartparking.dto.response.UserInfoResponse;
+import com.smartparking.exception.InvalidOperationException;
 import com.smartparking.exception.ResourceNotFoundException;
+import com.smartparking.security.VerifiedTokenCache;
 import com.smartparking.service.AuthService;
+import com.smartparking.service.user.UserInfoCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -17,36 +20,41 @@ import org.springframework.stereotype.Service;
 @Slf4j
 public class AuthServiceImpl implements AuthService {
 
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final UserInfoCache userInfoCache;
+
     @Override
     public UserInfoResponse getUserInfo(String uid) {
+        return userInfoCache.get(uid);
+    }
+
+    @Override
+    public UserInfoResponse getCurrentUser() {
+        return getUserInfo(currentUid());
+    }
+
+    @Override
+    public void revokeCurrentUserTokens() {
+        String uid = currentUid();
         try {
-            UserRecord userRecord = FirebaseAuth.getInstance().getUser(uid);
-            return mapToUserInfoResponse(userRecord);
+            FirebaseAuth.getInstance().revokeRefreshTokens(uid);
         } catch (FirebaseAuthException e) {
-            log.error("Error getting user info for uid: {}", uid, e);
-            throw new ResourceNotFoundException("User not found with uid: " + uid);
+            log.error("Error revoking tokens for uid: {}", uid, e);
+            throw new InvalidOperationException("Could not revoke tokens for uid: " + uid);
+        } finally {
+            // verifyIdToken does not check revocation, so the old ID tokens are rejected locally
+            verifiedTokenCache.revokeUser(uid);
         }
     }
 
-    @Override
-    public UserInfoResponse getCurrentUser() {
+    private String currentUid() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
-        if (authentication == null || !authentication.isAuthenticated()) {
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
             throw new ResourceNotFoundException("No authenticated user found");
         }
 
-        String uid = authentication.getPrincipal().toString();
-        return getUserInfo(uid);
-    }
-
-    private UserInfoResponse mapToUserInfoResponse(UserRecord userRecord) {
-        return UserInfoResponse.builder()
-                .uid(userRecord.getUid())
-                .email(userRecord.getEmail())
-                .displayName(userRecord.getDisplayName())
-                .photoUrl(userRecord.getPhotoUrl())
-                .emailVerified(userRecord.isEmailVerified())
-                .build();
+        return authentication.getPrincipal().toString();
     }
 }
@@ -0,0 +1,324 @@
+package com.smartparking.service.impl;
+
+import com.smartparking.dto.request.BillingRecalculationRequest;
+import com.smartparking.dto.response.BillingRecalculationResponse;
+import com.smartparking.entity.BillingRecalculation;
+import com.smartparking.entity.ParkingSession;
+import com.smartparking.enums.RecalculationStatus;
+import com.smartparking.exception.InvalidOperationException;
+import com.smartparking.exception.ResourceNotFoundException;
+import com.smartparking.repository.BillingRecalculationRepository;
+import com.smartparking.repository.ParkingSessionRepository;
+import com.smartparking.service.BillingRecalculationService;
+import com.smartparking.service.allocation.SlotAllocator;
+import com.smartparking.service.allocation.SlotClaim;
+import com.smartparking.service.rollup.UsageRollupRecorder;
+import com.smartparking.service.strategy.PricingStrategy;
+import com.smartparking.util.TransactionHooks;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+// Re-prices finished sessions with the current PricingStrategy, one run at a time on a background thread.
+// Each chunk is read by keyset, priced in parallel, written with JDBC batch updates and checkpointed in
+// the same transaction, so the heap only ever holds one chunk and a stopped run resumes exactly.
+// Runs record the instance holding them, which keeps their heartbeat fresh; with several instances on one
+// database, each only interrupts its own leftovers and runs whose owner has stopped refreshing them.
+@Service
+@Slf4j
+public class BillingRecalculationServiceImpl implements BillingRecalculationService, SmartInitializingSingleton {
+
+    private static final Set<RecalculationStatus> ACTIVE =
+            EnumSet.of(RecalculationStatus.PENDING, RecalculationStatus.RUNNING);
+
+    private static final String UPDATE_SESSION_AMOUNT =
+            "UPDATE parking_sessions SET amount = ? WHERE session_id = ?";
+    // The vehicle row mirrors the bill of its last visit only. Plain SQL leaves its version alone, and the
+    // status/time_out match skips vehicles that have since entered again.
+    private static final String UPDATE_VEHICLE_BILL =
+            "UPDATE vehicles SET bill_amt = ? WHERE vehicle_id = ? AND status = 'EXITED' AND time_out = ?";
+
+    private final BillingRecalculationRepository recalculationRepository;
+    private final ParkingSessionRepository parkingSessionRepository;
+    private final PricingStrategy pricingStrategy;
+    private final SlotAllocator slotAllocator;
+    private final UsageRollupRecorder usageRollupRecorder;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final String instanceId;
+    private final Duration staleAfter;
+
+    private final ExecutorService runner = Executors.newSingleThreadExecutor();
+    private final Set<String> cancelRequested = ConcurrentHashMap.newKeySet();
+
+    public BillingRecalculationServiceImpl(BillingRecalculationRepository recalculationRepository,
+                                           ParkingSessionRepository parkingSessionRepository,
+                                           PricingStrategy pricingStrategy,
+                                           SlotAllocator slotAllocator,
+                                           UsageRollupRecorder usageRollupRecorder,
+                                           JdbcTemplate jdbcTemplate,
+                                           TransactionTemplate transactionTemplate,
+                                           @Value("${billing.recalculation.chunk-size:1000}") int chunkSize,
+                                           @Value("${billing.recalculation.instance-id:}") String instanceId,
+                                           @Value("${billing.recalculation.stale-after-ms:120000}") long staleAfterMs) {
+        this.recalculationRepository = recalculationRepository;
+        this.parkingSessionRepository = parkingSessionRepository;
+        this.pricingStrategy = pricingStrategy;
+        this.slotAllocator = slotAllocator;
+        this.usageRollupRecorder = usageRollupRecorder;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.instanceId = instanceId.isBlank() ? hostName() : instanceId;
+        this.staleAfter = Duration.ofMillis(staleAfterMs);
+    }
+
+    // Before the web server accepts requests, so a run started by this process is never swept up.
+    // Active runs owned by this instance id are left over from its previous process and will never finish.
+    @Override
+    public void afterSingletonsInstantiated() {
+        int interrupted = recalculationRepository.updateStatusOwnedBy(
+                instanceId, ACTIVE, RecalculationStatus.INTERRUPTED);
+        if (interrupted > 0) {
+            log.warn("{} billing recalculations were interrupted by a restart and can be resumed", interrupted);
+        }
+        interruptStale(LocalDateTime.now());
+    }
+
+    @Scheduled(fixedDelayString = "${billing.recalculation.heartbeat-interval-ms:30000}")
+    public void heartbeat() {
+        LocalDateTime now = LocalDateTime.now();
+        recalculationRepository.refreshHeartbeat(instanceId, ACTIVE, now);
+        interruptStale(now);
+    }
+
+    // Runs of an instance that stopped without restarting under the same id
+    private void interruptStale(LocalDateTime now) {
+        int interrupted = recalculationRepository.updateStaleStatus(
+                ACTIVE, RecalculationStatus.INTERRUPTED, now.minus(staleAfter));
+        if (interrupted > 0) {
+            log.warn("{} billing recalculations lost their owner and can be resumed", interrupted);
+        }
+    }
+
+    @Override
+    public BillingRecalculationResponse startRecalculation(BillingRecalculationRequest request) {
+        if (!request.getFrom().isBefore(request.getTo())) {
+            throw new InvalidOperationException("From must be before to");
+        }
+
+        BillingRecalculation recalculation = recalculationRepository.save(BillingRecalculation.builder()
+                .rangeFrom(request.getFrom())
+                .rangeTo(request.getTo())
+                .status(RecalculationStatus.PENDING)
+                .ownerInstance(instanceId)
+                .heartbeatAt(LocalDateTime.now())
+                .build());
+        submit(recalculation.getRecalculationId());
+        return mapToResponse(recalculation);
+    }
+
+    @Override
+    public BillingRecalculationResponse resumeRecalculation(String recalculationId) {
+        BillingRecalculation recalculation = findRecalculation(recalculationId);
+        if (recalculation.getStatus() != RecalculationStatus.INTERRUPTED
+                && recalculation.getStatus() != RecalculationStatus.FAILED
+                && recalculation.getStatus() != RecalculationStatus.CANCELLED) {
+            throw new InvalidOperationException(
+                    "Recalculation " + recalculationId + " is " + recalculation.getStatus() + " and cannot be resumed");
+        }
+
+        recalculation.setStatus(RecalculationStatus.PENDING);
+        recalculation.setError(null);
+        recalculation.setFinishedAt(null);
+        recalculation.setOwnerInstance(instanceId);
+        recalculation.setHeartbeatAt(LocalDateTime.now());
+        recalculation = recalculationRepository.save(recalculation);
+        submit(recalculationId);
+        return mapToResponse(recalculation);
+    }
+
+    @Override
+    public BillingRecalculationResponse cancelRecalculation(String recalculationId) {
+        BillingRecalculation recalculation = findRecalculation(recalculationId);
+        if (recalculation.getStatus() != RecalculationStatus.PENDING
+                && recalculation.getStatus() != RecalculationStatus.RUNNING) {
+            throw new InvalidOperationException(
+                    "Recalculation " + recalculationId + " is " + recalculation.getStatus() + " and cannot be cancelled");
+        }
+
+        // Honoured between chunks; the chunk in flight still commits
+        cancelRequested.add(recalculationId);
+        return mapToResponse(recalculation);
+    }
+
+    @Override
+    public BillingRecalculationResponse getRecalculation(String recalculationId) {
+        return mapToResponse(findRecalculation(recalculationId));
+    }
+
+    @Override
+    public List<BillingRecalculationResponse> getAllRecalculations() {
+        return recalculationRepository.findAllByOrderByCreatedAtDesc().stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // The run in flight is left RUNNING and marked INTERRUPTED on the next start
+        runner.shutdownNow();
+    }
+
+    private void submit(String recalculationId) {
+        runner.submit(() -> run(recalculationId));
+    }
+
+    private void run(String recalculationId) {
+        try {
+            updateStatus(recalculationId, RecalculationStatus.RUNNING, null);
+            log.info("Billing recalculation {} started", recalculationId);
+            while (true) {
+                if (cancelRequested.remove(recalculationId)) {
+                    updateStatus(recalculationId, RecalculationStatus.CANCELLED, null);
+                    log.info("Billing recalculation {} cancelled", recalculationId);
+                    return;
+                }
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                if (!Boolean.TRUE.equals(transactionTemplate.execute(status -> repriceChunk(recalculationId)))) {
+                    break;
+                }
+            }
+            updateStatus(recalculationId, RecalculationStatus.COMPLETED, null);
+            log.info("Billing recalculation {} completed", recalculationId);
+        } catch (RuntimeException e) {
+            log.error("Billing recalculation {} failed", recalculationId, e);
+            cancelRequested.remove(recalculationId);
+            updateStatus(recalculationId, RecalculationStatus.FAILED, e.getMessage());
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return UUID.randomUUID().toString();
+        }
+    }
+
+    // Prices and writes the next chunk after the stored keyset position; returns whether more may follow
+    private boolean repriceChunk(String recalculationId) {
+        BillingRecalculation recalculation = findRecalculation(recalculationId);
+        List<ParkingSession> sessions = parkingSessionRepository.findEndedBetween(
+                recalculation.getRangeFrom(), recalculation.getRangeTo(),
+                recalculation.getLastTimeOut(), recalculation.getLastSessionId(), PageRequest.of(0, chunkSize));
+        if (sessions.isEmpty()) {
+            return false;
+        }
+
+        // Pricing has no side effects, so the chunk is priced in parallel; writes stay on this transaction
+        double[] amounts = new double[sessions.size()];
+        IntStream.range(0, sessions.size()).parallel().forEach(i -> amounts[i] = price(sessions.get(i)));
+
+        List<Object[]> sessionUpdates = new ArrayList<>();
+        List<Object[]> vehicleUpdates = new ArrayList<>();
+        List<Runnable> rollupAdjustments = new ArrayList<>();
+        double amountDelta = 0;
+        for (int i = 0; i < sessions.size(); i++) {
+            ParkingSession session = sessions.get(i);
+            Double previous = session.getAmount();
+            if (previous != null && Double.compare(previous, amounts[i]) == 0) {
+                continue;
+            }
+            double delta = amounts[i] - (previous != null ? previous : 0);
+            amountDelta += delta;
+            if (session.getSlotId() != null) {
+                slotAllocator.locate(session.getSlotId()).ifPresent(location -> rollupAdjustments.add(() ->
+                        usageRollupRecorder.recordRevenueAdjustment(session.getTimeOut(), location.parkingLotId(),
+                                location.floorId(), location.slotType(), delta)));
+            }
+            sessionUpdates.add(new Object[]{amounts[i], session.getSessionId()});
+            vehicleUpdates.add(new Object[]{amounts[i], session.getVehicle().getVehicleId(),
+                    Timestamp.valueOf(session.getTimeOut())});
+        }
+        if (!sessionUpdates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_SESSION_AMOUNT, sessionUpdates);
+            jdbcTemplate.batchUpdate(UPDATE_VEHICLE_BILL, vehicleUpdates);
+            TransactionHooks.afterCommit(() -> rollupAdjustments.forEach(Runnable::run));
+        }
+
+        ParkingSession last = sessions.get(sessions.size() - 1);
+        recalculation.setSessionsProcessed(recalculation.getSessionsProcessed() + sessions.size());
+        recalculation.setSessionsChanged(recalculation.getSessionsChanged() + sessionUpdates.size());
+        recalculation.setAmountDelta(Math.round((recalculation.getAmountDelta() + amountDelta) * 100.0) / 100.0);
+        recalculation.setLastTimeOut(last.getTimeOut());
+        recalculation.setLastSessionId(last.getSessionId());
+        return sessions.size() == chunkSize;
+    }
+
+    private double price(ParkingSession session) {
+        String parkingLotId = session.getSlotId() != null
+                ? slotAllocator.locate(session.getSlotId()).map(SlotClaim::parkingLotId).orElse(null)
+                : null;
+        return pricingStrategy.calculatePrice(session.getVehicleType(), parkingLotId,
+                session.getTimeIn(), session.getTimeOut());
+    }
+
+    private void updateStatus(String recalculationId, RecalculationStatus status, String error) {
+        transactionTemplate.executeWithoutResult(tx -> {
+            BillingRecalculation recalculation = findRecalculation(recalculationId);
+            recalculation.setStatus(status);
+            recalculation.setError(error != null && error.length() > 1000 ? error.substring(0, 1000) : error);
+            if (status != RecalculationStatus.RUNNING) {
+                recalculation.setFinishedAt(LocalDateTime.now());
+            }
+        });
+    }
+
+    private BillingRecalculation findRecalculation(String recalculationId) {
+        return recalculationRepository.findById(recalculationId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Billing recalculation not found with id: " + recalculationId));
+    }
+
+    private BillingRecalculationResponse mapToResponse(BillingRecalculation recalculation) {
+        return BillingRecalculationResponse.builder()
+                .recalculationId(recalculation.getRecalculationId())
+                .from(recalculation.getRangeFrom())
+                .to(recalculation.getRangeTo())
+                .status(recalculation.getStatus())
+                .sessionsProcessed(recalculation.getSessionsProcessed())
+                .sessionsChanged(recalculation.getSessionsChanged())
+                .amountDelta(recalculation.getAmountDelta())
+                .processedUpTo(recalculation.getLastTimeOut())
+                .error(recalculation.getError())
+                .createdAt(recalculation.getCreatedAt())
+                .finishedAt(recalculation.getFinishedAt())
+                .build();
+    }
+}
@@ -2,11 +2,13 @@ package com.smartparking.service.impl;
 
 import com.smartparking.dto.request.EmployeeRequest;
 import com.smartparking.dto.response.EmployeeResponse;
+import com.smartparking.dto.response.PageResponse;
 import com.smartparking.entity.Employee;
 import com.smartparking.exception.DuplicateResourceException;
 import com.smartparking.exception.ResourceNotFoundException;
 import com.smartparking.repository.EmployeeRepository;
 import com.smartparking.service.EmployeeService;
+import com.smartparking.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -63,6 +65,18 @@ public class EmployeeServiceImpl implements EmployeeService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public PageResponse<EmployeeResponse> getEmployees(String cursor, Integer limit) {
+        String[] after = KeysetCursor.decode(cursor, 1);
+        int pageSize = KeysetCursor.limit(limit);
+
+        List<EmployeeResponse> employees = employeeRepository.findPage(
+                        after != null ? after[0] : null, KeysetCursor.probe(pageSize)).stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+        return KeysetCursor.page(employees, pageSize, employee -> KeysetCursor.encode(employee.getEmpId()));
+    }
+
     @Override
     @Transactional
     public EmployeeResponse updateEmployee(String empId, EmployeeRequest request) {
@@ -0,0 +1,160 @@
+package com.smartparking.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartparking.enums.ExportFormat;
+import com.smartparking.exception.InvalidOperationException;
+import com.smartparking.repository.ParkingSessionRepository;
+import com.smartparking.repository.projection.SessionExportView;
+import com.smartparking.service.ExportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+// Streams finished sessions straight from a database cursor to the response. Rows are read-only
+// projections written one at a time, so memory stays flat however many sessions match.
+@Service
+@Slf4j
+public class ExportServiceImpl implements ExportService {
+
+    private static final String CSV_HEADER =
+            "session_id,vehicle_registration,vehicle_type,parking_lot_id,floor_id,slot_id,time_in,time_out,amount";
+
+    private final ParkingSessionRepository parkingSessionRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ExportServiceImpl(ParkingSessionRepository parkingSessionRepository,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager) {
+        this.parkingSessionRepository = parkingSessionRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public void validateSessionExport(LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new InvalidOperationException("From must be before to");
+        }
+    }
+
+    @Override
+    public void exportSessions(LocalDateTime from, LocalDateTime to, String parkingLotId, ExportFormat format,
+                               OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        try {
+            // The cursor only lives as long as the transaction, so the whole write happens inside it
+            long rows = readOnlyTransaction.execute(status -> {
+                try (Stream<SessionExportView> sessions =
+                             parkingSessionRepository.streamForExport(from, to, parkingLotId)) {
+                    return format == ExportFormat.CSV
+                            ? writeCsv(sessions.iterator(), writer)
+                            : writeNdjson(sessions.iterator(), writer);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+            log.debug("Exported {} sessions as {}", rows, format);
+        } catch (UncheckedIOException e) {
+            // Usually the client went away mid-download
+            throw e.getCause();
+        }
+    }
+
+    private long writeCsv(Iterator<SessionExportView> sessions, Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        long rows = 0;
+        while (sessions.hasNext()) {
+            SessionExportView session = sessions.next();
+            writeCsvField(writer, session.getSessionId());
+            writer.write(',');
+            writeCsvField(writer, session.getVehicleRegistration());
+            writer.write(',');
+            writer.write(session.getVehicleType().name());
+            writer.write(',');
+            writeCsvField(writer, session.getParkingLotId());
+            writer.write(',');
+            writeCsvField(writer, session.getFloorId());
+            writer.write(',');
+            writeCsvField(writer, session.getSlotId());
+            writer.write(',');
+            writer.write(session.getTimeIn().toString());
+            writer.write(',');
+            writer.write(session.getTimeOut().toString());
+            writer.write(',');
+            if (session.getAmount() != null) {
+                writer.write(Double.toString(session.getAmount()));
+            }
+            writer.write('\n');
+            rows++;
+        }
+        return rows;
+    }
+
+    private long writeNdjson(Iterator<SessionExportView> sessions, Writer writer) throws IOException {
+        long rows = 0;
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(writer)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+            while (sessions.hasNext()) {
+                SessionExportView session = sessions.next();
+                json.writeStartObject();
+                json.writeStringField("sessionId", session.getSessionId());
+                json.writeStringField("vehicleRegistration", session.getVehicleRegistration());
+                json.writeStringField("vehicleType", session.getVehicleType().name());
+                json.writeStringField("parkingLotId", session.getParkingLotId());
+                json.writeStringField("floorId", session.getFloorId());
+                json.writeStringField("slotId", session.getSlotId());
+                json.writeStringField("timeIn", session.getTimeIn().toString());
+                json.writeStringField("timeOut", session.getTimeOut().toString());
+                if (session.getAmount() != null) {
+                    json.writeNumberField("amount", session.getAmount());
+                } else {
+                    json.writeNullField("amount");
+                }
+                json.writeEndObject();
+                rows++;
+            }
+            if (rows > 0) {
+                json.writeRaw('\n');
+            }
+        }
+        return rows;
+    }
+
+    // RFC 4180: quote fields holding a separator, quote or line break, doubling embedded quotes
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -1,28 +1,46 @@
 package com.smartparking.service.impl;
 
+import com.smartparking.dto.request.FloorLayoutRequest;
 import com.smartparking.dto.request.FloorRequest;
+import com.smartparking.dto.request.ParkingLotProvisionRequest;
 import com.smartparking.dto.request.ParkingLotRequest;
+import com.smartparking.dto.response.AvailabilitySummaryResponse;
+import com.smartparking.dto.response.FloorAvailabilityResponse;
 import com.smartparking.dto.response.FloorResponse;
+import com.smartparking.dto.response.PageResponse;
 import com.smartparking.dto.response.ParkingLotResponse;
 import com.smartparking.dto.response.ParkingSlotResponse;
+import com.smartparking.dto.response.SlotTypeAvailabilityResponse;
 import com.smartparking.entity.Floor;
 import com.smartparking.entity.ParkingLot;
 import com.smartparking.entity.ParkingSlot;
 import com.smartparking.enums.SlotStatus;
 import com.smartparking.enums.SlotType;
 import com.smartparking.exception.DuplicateResourceException;
+import com.smartparking.exception.InvalidOperationException;
 import com.smartparking.exception.ResourceNotFoundException;
 import com.smartparking.repository.FloorRepository;
 import com.smartparking.repository.ParkingLotRepository;
 import com.smartparking.repository.ParkingSlotRepository;
 import com.smartparking.service.ParkingLotService;
+import com.smartparking.service.allocation.SlotAllocator;
+import com.smartparking.service.allocation.SlotPoolSnapshot;
+import com.smartparking.service.occupancy.OccupancyTracker;
+import com.smartparking.service.provisioning.SlotProvisioner;
+import com.smartparking.service.topology.TopologyCache;
+import com.smartparking.util.KeysetCursor;
+import com.smartparking.util.TransactionHooks;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,6 +50,10 @@ public class ParkingLotServiceImpl implements ParkingLotService {
     private final ParkingLotRepository parkingLotRepository;
     private final FloorRepository floorRepository;
     private final ParkingSlotRepository parkingSlotRepository;
+    private final SlotAllocator slotAllocator;
+    private final OccupancyTracker occupancyTracker;
+    private final SlotProvisioner slotProvisioner;
+    private final TopologyCache topologyCache;
 
     @Override
     @Transactional
@@ -48,20 +70,31 @@ public class ParkingLotServiceImpl implements ParkingLotService {
                 .build();
 
         parkingLot = parkingLotRepository.save(parkingLot);
-        return mapToParkingLotResponse(parkingLot);
+        String parkingLotId = parkingLot.getParkingLotId();
+        TransactionHooks.afterCommit(() -> topologyCache.evictParkingLot(parkingLotId));
+        return mapToParkingLotResponse(parkingLot, Map.of());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ParkingLotResponse getParkingLotById(String parkingLotId) {
+        // The lot, its floor list and the floors come from the second-level cache once warm
         ParkingLot parkingLot = parkingLotRepository.findById(parkingLotId)
                 .orElseThrow(() -> new ResourceNotFoundException("Parking lot not found with id: " + parkingLotId));
-        return mapToParkingLotResponse(parkingLot);
+        return mapToParkingLotResponse(parkingLot, findSlotsByFloor(parkingLot.getFloors()));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ParkingLotResponse> getAllParkingLots() {
-        return parkingLotRepository.findAll().stream()
-                .map(this::mapToParkingLotResponse)
+        // One query for lots and floors, one for every slot under them
+        List<ParkingLot> parkingLots = parkingLotRepository.findAllWithFloors();
+        Map<String, List<ParkingSlotResponse>> slotsByFloor = findSlotsByFloor(parkingLots.stream()
+                .flatMap(parkingLot -> parkingLot.getFloors().stream())
+                .collect(Collectors.toList()));
+
+        return parkingLots.stream()
+                .map(parkingLot -> mapToParkingLotResponse(parkingLot, slotsByFloor))
                 .collect(Collectors.toList());
     }
 
@@ -76,65 +109,220 @@ public class ParkingLotServiceImpl implements ParkingLotService {
             throw new DuplicateResourceException("Floor " + request.getFloorNo() + " already exists in this parking lot");
         }
 
+        Floor floor = createFloor(parkingLot, request.getFloorNo(), request.getSlotConfiguration());
+        return mapToFloorResponse(floor, floor.getSlots().stream()
+                .map(this::mapToSlotResponse)
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    @Transactional
+    public ParkingLotResponse provisionParkingLot(ParkingLotProvisionRequest request) {
+        if (parkingLotRepository.findByName(request.getName()).isPresent()) {
+            throw new DuplicateResourceException("Parking lot with name " + request.getName() + " already exists");
+        }
+        Set<Integer> floorNos = new HashSet<>();
+        for (FloorLayoutRequest layout : request.getFloors()) {
+            if (!floorNos.add(layout.getFloorNo())) {
+                throw new InvalidOperationException("Floor " + layout.getFloorNo() + " is listed more than once");
+            }
+        }
+
+        ParkingLot parkingLot = parkingLotRepository.save(ParkingLot.builder()
+                .name(request.getName())
+                .address(request.getAddress())
+                .totalFloors(request.getFloors().size())
+                .floors(new ArrayList<>())
+                .build());
+
+        // Slots are left out of the response; a large lot is listed through the paginated slots endpoint
+        List<FloorResponse> floors = new ArrayList<>();
+        for (FloorLayoutRequest layout : request.getFloors()) {
+            Floor floor = createFloor(parkingLot, layout.getFloorNo(), layout.getSlotConfiguration());
+            floors.add(mapToFloorResponse(floor, List.of()));
+        }
+
+        return ParkingLotResponse.builder()
+                .parkingLotId(parkingLot.getParkingLotId())
+                .name(parkingLot.getName())
+                .address(parkingLot.getAddress())
+                .totalFloors(parkingLot.getTotalFloors())
+                .floors(floors)
+                .createdAt(parkingLot.getCreatedAt())
+                .updatedAt(parkingLot.getUpdatedAt())
+                .build();
+    }
+
+    // Inserts the floor and its slots in JDBC batches. The returned floor and slots are detached.
+    private Floor createFloor(ParkingLot parkingLot, int floorNo, Map<SlotType, Integer> slotConfiguration) {
         // Calculate total slots
-        int totalSlots = request.getSlotConfiguration().values().stream()
+        int totalSlots = slotConfiguration.values().stream()
                 .mapToInt(Integer::intValue)
                 .sum();
 
-        Floor floor = Floor.builder()
-                .floorNo(request.getFloorNo())
+        Floor floor = floorRepository.save(Floor.builder()
+                .floorNo(floorNo)
                 .totalSlots(totalSlots)
                 .allottedSlots(0)
                 .parkingLot(parkingLot)
                 .slots(new ArrayList<>())
-                .build();
-
-        floor = floorRepository.save(floor);
+                .build());
 
         // Create slots based on configuration
-        List<ParkingSlot> slots = new ArrayList<>();
-        for (Map.Entry<SlotType, Integer> entry : request.getSlotConfiguration().entrySet()) {
-            SlotType slotType = entry.getKey();
-            Integer count = entry.getValue();
-
-            for (int i = 0; i < count; i++) {
-                ParkingSlot slot = ParkingSlot.builder()
+        List<ParkingSlot> slots = new ArrayList<>(totalSlots);
+        for (Map.Entry<SlotType, Integer> entry : slotConfiguration.entrySet()) {
+            for (int i = 0; i < entry.getValue(); i++) {
+                slots.add(ParkingSlot.builder()
                         .slotStatus(SlotStatus.AVAILABLE)
-                        .slotType(slotType)
+                        .slotType(entry.getKey())
                         .floor(floor)
-                        .build();
-                slots.add(slot);
+                        .build());
             }
         }
-
-        slots = parkingSlotRepository.saveAll(slots);
+        slotProvisioner.persistAll(slots);
         floor.setSlots(slots);
 
-        return mapToFloorResponse(floor);
+        // New slots become claimable, and the lot's cached floor list is dropped, once they are committed
+        String parkingLotId = parkingLot.getParkingLotId();
+        String floorId = floor.getFloorId();
+        TransactionHooks.afterCommit(() -> {
+            topologyCache.evictParkingLot(parkingLotId);
+            slotAllocator.registerFloor(parkingLotId, floorId, floorNo, slots);
+            occupancyTracker.registerFloor(parkingLotId, floorId);
+        });
+        return floor;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public FloorResponse getFloorById(String floorId) {
         Floor floor = floorRepository.findById(floorId)
                 .orElseThrow(() -> new ResourceNotFoundException("Floor not found with id: " + floorId));
-        return mapToFloorResponse(floor);
+        return mapToFloorResponse(floor, findSlotsByFloor(List.of(floor)).getOrDefault(floorId, List.of()));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<FloorResponse> getFloorsByParkingLotId(String parkingLotId) {
-        if (!parkingLotRepository.existsById(parkingLotId)) {
+        ParkingLot parkingLot = parkingLotRepository.findById(parkingLotId)
+                .orElseThrow(() -> new ResourceNotFoundException("Parking lot not found with id: " + parkingLotId));
+
+        List<Floor> floors = parkingLot.getFloors();
+        Map<String, List<ParkingSlotResponse>> slotsByFloor = findSlotsByFloor(floors);
+
+        return floors.stream()
+                .map(floor -> mapToFloorResponse(floor, slotsByFloor.getOrDefault(floor.getFloorId(), List.of())))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public PageResponse<ParkingSlotResponse> getSlots(String floorId, SlotType slotType, SlotStatus slotStatus,
+                                                      String cursor, Integer limit) {
+        String[] after = KeysetCursor.decode(cursor, 1);
+        int pageSize = KeysetCursor.limit(limit);
+
+        List<ParkingSlotResponse> slots = parkingSlotRepository.findSlotPage(floorId, slotType, slotStatus,
+                after != null ? after[0] : null, KeysetCursor.probe(pageSize));
+        return KeysetCursor.page(slots, pageSize, slot -> KeysetCursor.encode(slot.getSlotId()));
+    }
+
+    @Override
+    public List<AvailabilitySummaryResponse> getAvailabilitySummaries() {
+        // Served from the allocator and occupancy counters; no entities are loaded
+        return slotAllocator.snapshot().stream()
+                .collect(Collectors.groupingBy(SlotPoolSnapshot::parkingLotId, LinkedHashMap::new, Collectors.toList()))
+                .entrySet().stream()
+                .map(entry -> mapToAvailabilitySummary(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public AvailabilitySummaryResponse getAvailabilitySummary(String parkingLotId) {
+        List<SlotPoolSnapshot> pools = slotAllocator.snapshot().stream()
+                .filter(pool -> pool.parkingLotId().equals(parkingLotId))
+                .collect(Collectors.toList());
+
+        // Only a lot without any slots needs the database to tell "empty" from "unknown"
+        if (pools.isEmpty() && !parkingLotRepository.existsById(parkingLotId)) {
             throw new ResourceNotFoundException("Parking lot not found with id: " + parkingLotId);
         }
 
-        return floorRepository.findByParkingLotParkingLotId(parkingLotId).stream()
-                .map(this::mapToFloorResponse)
+        return mapToAvailabilitySummary(parkingLotId, pools);
+    }
+
+    private AvailabilitySummaryResponse mapToAvailabilitySummary(String parkingLotId, List<SlotPoolSnapshot> pools) {
+        List<FloorAvailabilityResponse> floors = pools.stream()
+                .collect(Collectors.groupingBy(SlotPoolSnapshot::floorId, LinkedHashMap::new, Collectors.toList()))
+                .values().stream()
+                .map(this::mapToFloorAvailability)
                 .collect(Collectors.toList());
+
+        Map<SlotType, SlotTypeAvailabilityResponse> byType = new EnumMap<>(SlotType.class);
+        for (FloorAvailabilityResponse floor : floors) {
+            for (SlotTypeAvailabilityResponse slotType : floor.getSlotTypes()) {
+                byType.merge(slotType.getSlotType(), slotType, this::sumAvailability);
+            }
+        }
+
+        return AvailabilitySummaryResponse.builder()
+                .parkingLotId(parkingLotId)
+                .totalSlots(floors.stream().mapToLong(FloorAvailabilityResponse::getTotalSlots).sum())
+                .availableSlots(floors.stream().mapToLong(FloorAvailabilityResponse::getAvailableSlots).sum())
+                .occupiedSlots(floors.stream().mapToLong(FloorAvailabilityResponse::getOccupiedSlots).sum())
+                .slotTypes(new ArrayList<>(byType.values()))
+                .floors(floors)
+                .build();
+    }
+
+    private FloorAvailabilityResponse mapToFloorAvailability(List<SlotPoolSnapshot> pools) {
+        List<SlotTypeAvailabilityResponse> slotTypes = pools.stream()
+                .map(pool -> SlotTypeAvailabilityResponse.builder()
+                        .slotType(pool.slotType())
+                        .totalSlots(pool.totalSlots())
+                        .availableSlots(pool.availableSlots())
+                        .occupiedSlots(occupancyTracker.occupied(pool.floorId(), pool.slotType()))
+                        .build())
+                .collect(Collectors.toList());
+
+        return FloorAvailabilityResponse.builder()
+                .floorId(pools.get(0).floorId())
+                .floorNo(pools.get(0).floorNo())
+                .totalSlots(slotTypes.stream().mapToLong(SlotTypeAvailabilityResponse::getTotalSlots).sum())
+                .availableSlots(slotTypes.stream().mapToLong(SlotTypeAvailabilityResponse::getAvailableSlots).sum())
+                .occupiedSlots(slotTypes.stream().mapToLong(SlotTypeAvailabilityResponse::getOccupiedSlots).sum())
+                .slotTypes(slotTypes)
+                .build();
+    }
+
+    private SlotTypeAvailabilityResponse sumAvailability(SlotTypeAvailabilityResponse a, SlotTypeAvailabilityResponse b) {
+        return SlotTypeAvailabilityResponse.builder()
+                .slotType(a.getSlotType())
+                .totalSlots(a.getTotalSlots() + b.getTotalSlots())
+                .availableSlots(a.getAvailableSlots() + b.getAvailableSlots())
+                .occupiedSlots(a.getOccupiedSlots() + b.getOccupiedSlots())
+                .build();
     }
 
-    private ParkingLotResponse mapToParkingLotResponse(ParkingLot parkingLot) {
+    // Slots are read as flat rows for all floors at once instead of walking floor.getSlots() lazily
+    private Map<String, List<ParkingSlotResponse>> findSlotsByFloor(List<Floor> floors) {
+        if (floors == null || floors.isEmpty()) {
+            return Map.of();
+        }
+
+        List<String> floorIds = floors.stream()
+                .map(Floor::getFloorId)
+                .collect(Collectors.toList());
+
+        return parkingSlotRepository.findSlotResponsesByFloorIds(floorIds).stream()
+                .collect(Collectors.groupingBy(ParkingSlotResponse::getFloorId));
+    }
+
+    private ParkingLotResponse mapToParkingLotResponse(ParkingLot parkingLot,
+                                                       Map<String, List<ParkingSlotResponse>> slotsByFloor) {
         List<FloorResponse> floors = parkingLot.getFloors() != null ?
                 parkingLot.getFloors().stream()
-                        .map(this::mapToFloorResponse)
+                        .map(floor -> mapToFloorResponse(floor,
+                                slotsByFloor.getOrDefault(floor.getFloorId(), List.of())))
                         .collect(Collectors.toList()) :
                 new ArrayList<>();
 
@@ -149,19 +337,16 @@ public class ParkingLotServiceImpl implements ParkingLotService {
                 .build();
     }
 
-    private FloorResponse mapToFloorResponse(Floor floor) {
-        List<ParkingSlotResponse> slots = floor.getSlots() != null ?
-                floor.getSlots().stream()
-                        .map(this::mapToSlotResponse)
-                        .collect(Collectors.toList()) :
-                new ArrayList<>();
+    private FloorResponse mapToFloorResponse(Floor floor, List<ParkingSlotResponse> slots) {
+        // Live counters; the allotted_slots column trails them by one flush interval
+        int allottedSlots = occupancyTracker.allottedSlots(floor);
 
         return FloorResponse.builder()
                 .floorId(floor.getFloorId())
                 .floorNo(floor.getFloorNo())
                 .totalSlots(floor.getTotalSlots())
-                .allottedSlots(floor.getAllottedSlots())
-                .availableSlots(floor.getTotalSlots() - floor.getAllottedSlots())
+                .allottedSlots(allottedSlots)
+                .availableSlots(floor.getTotalSlots() - allottedSlots)
                 .parkingLotId(floor.getParkingLot().getParkingLotId())
                 .slots(slots)
                 .build();
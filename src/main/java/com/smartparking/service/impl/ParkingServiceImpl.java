@@ -1,65 +1,126 @@
 package com.smartparking.service.impl;
 
 import com.smartparking.dto.request.BillUpdateRequest;
+import com.smartparking.dto.request.GateEventRequest;
 import com.smartparking.dto.request.VehicleEntryRequest;
+import com.smartparking.dto.response.GateEventResultResponse;
+import com.smartparking.dto.response.PageResponse;
 import com.smartparking.dto.response.VehicleResponse;
+import com.smartparking.entity.ParkingSession;
 import com.smartparking.entity.ParkingSlot;
 import com.smartparking.entity.Vehicle;
 import com.smartparking.enums.SlotStatus;
 import com.smartparking.enums.SlotType;
 import com.smartparking.enums.VehicleStatus;
 import com.smartparking.enums.VehicleType;
+import com.smartparking.exception.DuplicateResourceException;
 import com.smartparking.exception.InvalidOperationException;
 import com.smartparking.exception.NoAvailableSlotException;
 import com.smartparking.exception.ResourceNotFoundException;
+import com.smartparking.repository.ParkingSessionRepository;
 import com.smartparking.repository.ParkingSlotRepository;
 import com.smartparking.repository.VehicleRepository;
 import com.smartparking.service.ParkingService;
+import com.smartparking.service.allocation.SlotAllocator;
+import com.smartparking.service.allocation.SlotClaim;
+import com.smartparking.service.events.SlotStatusBroadcaster;
+import com.smartparking.service.events.SlotStatusEvent;
+import com.smartparking.service.metrics.ParkingMetrics;
+import com.smartparking.service.occupancy.OccupancyTracker;
+import com.smartparking.service.parked.ParkedVehicle;
+import com.smartparking.service.parked.ParkedVehicleIndex;
+import com.smartparking.service.rollup.UsageRollupRecorder;
 import com.smartparking.service.strategy.PricingStrategy;
+import com.smartparking.util.KeysetCursor;
+import com.smartparking.util.TransactionHooks;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.FlushModeType;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class ParkingServiceImpl implements ParkingService {
 
+    // How many allocator claims to try before giving up when slot rows were taken behind our back
+    private static final int MAX_CLAIM_ATTEMPTS = 5;
+
+    // Gate events committed per transaction in a batch upload
+    private static final int GATE_EVENT_CHUNK_SIZE = 50;
+
+    private static final String COMPARE_AND_SET_SLOT_STATUS =
+            "UPDATE parking_slots SET slot_status = ?, version = version + 1 WHERE slot_id = ? AND slot_status = ?";
+
     private final VehicleRepository vehicleRepository;
+    private final ParkingSessionRepository parkingSessionRepository;
     private final ParkingSlotRepository parkingSlotRepository;
     private final PricingStrategy pricingStrategy;
+    private final SlotAllocator slotAllocator;
+    private final ParkedVehicleIndex parkedVehicleIndex;
+    private final OccupancyTracker occupancyTracker;
+    private final UsageRollupRecorder usageRollupRecorder;
+    private final SlotStatusBroadcaster slotStatusBroadcaster;
+    private final TransactionTemplate transactionTemplate;
+    private final ParkingMetrics parkingMetrics;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
 
     @Override
     @Transactional
     public VehicleResponse parkVehicle(VehicleEntryRequest request) {
-        // Check if vehicle is already parked
-        vehicleRepository.findByVehicleRegistrationAndStatus(
-                        request.getVehicleRegistration(),
-                        VehicleStatus.PARKED)
-                .ifPresent(v -> {
-                    throw new InvalidOperationException(
-                            "Vehicle " + request.getVehicleRegistration() + " is already parked");
-                });
+        return parkingMetrics.timeEntry(() -> park(request, null));
+    }
+
+    // With a batch, writes are queued on it instead of being sent now
+    private VehicleResponse park(VehicleEntryRequest request, GateBatch batch) {
+        Vehicle vehicle;
+        if (batch != null && batch.vehicles.containsKey(request.getVehicleRegistration())) {
+            // Entered or exited earlier in this chunk; the database does not show it yet
+            vehicle = batch.vehicles.get(request.getVehicleRegistration());
+        } else {
+            // Committed parked vehicles are answered from memory without touching the database
+            if (parkedVehicleIndex.isParked(request.getVehicleRegistration())) {
+                parkingMetrics.alreadyParked();
+                throw new InvalidOperationException(
+                        "Vehicle " + request.getVehicleRegistration() + " is already parked");
+            }
+
+            // One indexed probe serves both the duplicate check and reuse of the plate's vehicle row
+            vehicle = vehicleRepository.findFirstByVehicleRegistrationOrderByTimeInDesc(
+                            request.getVehicleRegistration())
+                    .orElse(null);
+        }
+        if (vehicle != null && vehicle.getStatus() == VehicleStatus.PARKED) {
+            parkingMetrics.alreadyParked();
+            throw new InvalidOperationException(
+                    "Vehicle " + request.getVehicleRegistration() + " is already parked");
+        }
 
         // Find appropriate slot type based on vehicle type
         SlotType requiredSlotType = mapVehicleTypeToSlotType(request.getVehicleType());
 
-        // Find available slot
-        ParkingSlot availableSlot = parkingSlotRepository
-                .findFirstBySlotTypeAndSlotStatus(requiredSlotType, SlotStatus.AVAILABLE)
-                .orElseThrow(() -> new NoAvailableSlotException(
-                        "No available slot for " + request.getVehicleType()));
-
-        // Check if vehicle has exited before - if so, reuse the record for new parking session
-        Vehicle vehicle = vehicleRepository.findByVehicleRegistrationAndStatus(
-                        request.getVehicleRegistration(),
-                        VehicleStatus.EXITED)
-                .orElse(null);
+        // Claim a free slot and mark its row occupied; the slot row itself is never read
+        SlotClaim claim = claimSlot(requiredSlotType, request.getVehicleType(), batch);
+        ParkingSlot availableSlot = parkingSlotRepository.getReferenceById(claim.slotId());
 
         if (vehicle != null) {
-            // Reuse existing vehicle record - reset for new parking session
+            // Returning visitor - earlier visits are kept in parking_sessions, so the row is just reset
             vehicle.setVehicleType(request.getVehicleType());
             vehicle.setTimeIn(LocalDateTime.now());
             vehicle.setTimeOut(null);
@@ -77,15 +138,31 @@ public class ParkingServiceImpl implements ParkingService {
                     .build();
         }
 
-        vehicle = vehicleRepository.save(vehicle);
-
-        // Update slot status
-        availableSlot.setSlotStatus(SlotStatus.OCCUPIED);
-        availableSlot.setCurrentVehicle(vehicle);
-        parkingSlotRepository.save(availableSlot);
+        if (batch != null) {
+            // Sent with the rest of the chunk; a concurrent entry for the plate fails the chunk at its flush
+            vehicle = vehicleRepository.save(vehicle);
+            batch.vehicles.put(vehicle.getVehicleRegistration(), vehicle);
+        } else {
+            // Flushed here so a concurrent entry for the same plate fails now (on uk_vehicles_active_registration
+            // for a new row, on the version check for a reused one), and the claimed slot is released by the rollback
+            try {
+                vehicle = vehicleRepository.saveAndFlush(vehicle);
+            } catch (DataIntegrityViolationException | OptimisticLockingFailureException e) {
+                parkingMetrics.alreadyParked();
+                throw new DuplicateResourceException(
+                        "Vehicle " + request.getVehicleRegistration() + " is already parked");
+            }
+        }
 
-        // Update floor allotted slots
-        availableSlot.getFloor().incrementAllottedSlots();
+        // Update floor occupancy counters, the parked index and display boards once the entry is durable
+        ParkedVehicle parked = toParked(vehicle);
+        TransactionHooks.afterCommit(() -> {
+            parkedVehicleIndex.parked(parked);
+            occupancyTracker.slotOccupied(claim.parkingLotId(), claim.floorId(), claim.slotType());
+            usageRollupRecorder.recordEntry(claim.parkingLotId(), claim.floorId(), claim.slotType());
+            slotStatusBroadcaster.publish(new SlotStatusEvent(claim.slotId(), claim.floorId(),
+                    claim.parkingLotId(), claim.slotType(), SlotStatus.OCCUPIED));
+        });
 
         return mapToResponse(vehicle);
     }
@@ -93,46 +170,177 @@ public class ParkingServiceImpl implements ParkingService {
     @Override
     @Transactional
     public VehicleResponse exitVehicle(String vehicleRegistration) {
-        // Find parked vehicle
-        Vehicle vehicle = vehicleRepository
-                .findByVehicleRegistrationAndStatus(vehicleRegistration, VehicleStatus.PARKED)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "No parked vehicle found with registration: " + vehicleRegistration));
+        return parkingMetrics.timeExit(() -> exit(vehicleRegistration, null));
+    }
 
-        // Calculate parking duration and bill
+    private VehicleResponse exit(String vehicleRegistration, GateBatch batch) {
+        Optional<ParkedVehicle> parked;
+        Vehicle vehicle;
+        if (batch != null && batch.vehicles.containsKey(vehicleRegistration)) {
+            // Entered or exited earlier in this chunk; the index and the database do not show it yet
+            parked = Optional.empty();
+            vehicle = Optional.of(batch.vehicles.get(vehicleRegistration))
+                    .filter(v -> v.getStatus() == VehicleStatus.PARKED)
+                    .orElse(null);
+        } else {
+            // Find parked vehicle: by primary key when the index knows it, by plate otherwise
+            parked = parkedVehicleIndex.find(vehicleRegistration);
+            vehicle = parked
+                    .flatMap(p -> vehicleRepository.findById(p.vehicleId()))
+                    .filter(v -> v.getStatus() == VehicleStatus.PARKED)
+                    .or(() -> vehicleRepository.findByVehicleRegistrationAndStatus(
+                            vehicleRegistration, VehicleStatus.PARKED))
+                    .orElse(null);
+            if (vehicle == null) {
+                parkedVehicleIndex.evict(vehicleRegistration);
+            }
+        }
+        if (vehicle == null) {
+            throw new ResourceNotFoundException(
+                    "No parked vehicle found with registration: " + vehicleRegistration);
+        }
+        // Always drop the session on commit. The index may not hold it yet when the entry committed in this
+        // same transaction (an ENTRY then EXIT in one batch chunk), and then the entry's hook adds it first.
+        Vehicle exited = vehicle;
+        ParkedVehicle exiting = parked.filter(p -> p.vehicleId().equals(exited.getVehicleId()))
+                .orElseGet(() -> toParked(exited));
+        TransactionHooks.afterCommit(() -> parkedVehicleIndex.exited(exiting));
+
+        // Calculate the bill with the tariff of the lot the vehicle is parked in
+        ParkingSlot slot = vehicle.getAssignedSlot();
+        LocalDateTime timeIn = vehicle.getTimeIn();
         LocalDateTime timeOut = LocalDateTime.now();
-        Duration parkingDuration = Duration.between(vehicle.getTimeIn(), timeOut);
-        double billAmount = pricingStrategy.calculatePrice(vehicle.getVehicleType(), parkingDuration);
+        VehicleType vehicleType = vehicle.getVehicleType();
+        String parkingLotId = parkingLotOf(slot != null ? slot.getSlotId() : null);
+        double billAmount = parkingMetrics.timePricing(
+                () -> pricingStrategy.calculatePrice(vehicleType, parkingLotId, timeIn, timeOut));
+
+        // Release the slot before touching the vehicle, so a lost race leaves nothing dirty to flush
+        if (slot != null) {
+            if (batch != null) {
+                batch.updateSlot(slot.getSlotId(), SlotStatus.OCCUPIED, SlotStatus.AVAILABLE);
+            } else if (parkingSlotRepository.compareAndSetStatus(
+                    slot.getSlotId(), SlotStatus.OCCUPIED, SlotStatus.AVAILABLE) == 0) {
+                throw new InvalidOperationException(
+                        "Vehicle " + vehicleRegistration + " has already exited");
+            }
+
+            // Only make the slot claimable again and update floor occupancy once the exit is durable
+            String slotId = slot.getSlotId();
+            TransactionHooks.afterCommit(() -> {
+                slotAllocator.release(slotId);
+                slotAllocator.locate(slotId).ifPresent(location -> {
+                    occupancyTracker.slotReleased(location.parkingLotId(), location.floorId(), location.slotType());
+                    usageRollupRecorder.recordExit(location.parkingLotId(), location.floorId(),
+                            location.slotType(), billAmount);
+                    slotStatusBroadcaster.publish(new SlotStatusEvent(slotId, location.floorId(),
+                            location.parkingLotId(), location.slotType(), SlotStatus.AVAILABLE));
+                });
+            });
+        }
+
+        // Append the finished visit; inserts from a batch upload go out together at flush
+        parkingSessionRepository.save(ParkingSession.builder()
+                .vehicle(vehicle)
+                .slotId(slot != null ? slot.getSlotId() : null)
+                .vehicleType(vehicleType)
+                .timeIn(timeIn)
+                .timeOut(timeOut)
+                .amount(billAmount)
+                .build());
 
         // Update vehicle
         vehicle.setTimeOut(timeOut);
         vehicle.setStatus(VehicleStatus.EXITED);
         vehicle.setBillAmt(billAmount);
+        VehicleResponse response = mapToResponse(vehicle);
 
-        // Update slot status
-        ParkingSlot slot = vehicle.getAssignedSlot();
-        if (slot != null) {
-            slot.setSlotStatus(SlotStatus.AVAILABLE);
-            slot.setCurrentVehicle(null);
-            parkingSlotRepository.save(slot);
-
-            // Update floor allotted slots
-            slot.getFloor().decrementAllottedSlots();
+        // The slot is free again, so the vehicle row no longer points at it
+        vehicle.setAssignedSlot(null);
+        vehicleRepository.save(vehicle);
+        if (batch != null) {
+            batch.vehicles.put(vehicleRegistration, vehicle);
         }
 
-        vehicle = vehicleRepository.save(vehicle);
+        return response;
+    }
 
-        return mapToResponse(vehicle);
+    @Override
+    public List<GateEventResultResponse> processGateEvents(List<GateEventRequest> events) {
+        List<GateEventResultResponse> results = new ArrayList<>(events.size());
+        for (int start = 0; start < events.size(); start += GATE_EVENT_CHUNK_SIZE) {
+            List<GateEventRequest> chunk = events.subList(start, Math.min(start + GATE_EVENT_CHUNK_SIZE, events.size()));
+            int offset = start;
+            try {
+                results.addAll(transactionTemplate.execute(status -> applyGateEvents(chunk, offset, new GateBatch())));
+            } catch (RuntimeException e) {
+                // A concurrent write (slot row or plate) failed the chunk's flush, or something other than a
+                // per-event rule failed; replay one event per transaction, each written at once, to isolate it
+                log.warn("Gate event chunk at {} rolled back, retrying events individually: {}", offset, e.getMessage());
+                for (int i = 0; i < chunk.size(); i++) {
+                    List<GateEventRequest> single = List.of(chunk.get(i));
+                    int index = offset + i;
+                    try {
+                        results.addAll(transactionTemplate.execute(status -> applyGateEvents(single, index, null)));
+                    } catch (RuntimeException singleFailure) {
+                        results.add(gateEventFailure(index, chunk.get(i), singleFailure.getMessage()));
+                    }
+                }
+            }
+        }
+        return results;
     }
 
     @Override
     public VehicleResponse getVehicleByRegistration(String vehicleRegistration) {
-        Vehicle vehicle = vehicleRepository.findByVehicleRegistration(vehicleRegistration)
+        Optional<ParkedVehicle> parked = parkedVehicleIndex.find(vehicleRegistration);
+        if (parked.isPresent()) {
+            return mapToResponse(parked.get());
+        }
+
+        Vehicle vehicle = vehicleRepository.findFirstByVehicleRegistrationOrderByTimeInDesc(vehicleRegistration)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Vehicle not found with registration: " + vehicleRegistration));
         return mapToResponse(vehicle);
     }
 
+    @Override
+    public VehicleResponse quoteVehicle(String vehicleRegistration) {
+        ParkedVehicle parked = parkedVehicleIndex.find(vehicleRegistration)
+                .or(() -> vehicleRepository.findByVehicleRegistrationAndStatus(vehicleRegistration, VehicleStatus.PARKED)
+                        .map(this::toParked))
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "No parked vehicle found with registration: " + vehicleRegistration));
+
+        // What the vehicle would owe if it left now; nothing is recorded
+        LocalDateTime now = LocalDateTime.now();
+        VehicleResponse response = mapToResponse(parked);
+        response.setTimeOut(now);
+        response.setBillAmt(parkingMetrics.timePricing(() -> pricingStrategy.calculatePrice(
+                parked.vehicleType(), parkingLotOf(parked.slotId()), parked.timeIn(), now)));
+        return response;
+    }
+
+    @Override
+    public PageResponse<VehicleResponse> getVehicles(VehicleStatus status, LocalDateTime from, LocalDateTime to,
+                                                     String cursor, Integer limit) {
+        String[] after = KeysetCursor.decode(cursor, 2);
+        int pageSize = KeysetCursor.limit(limit);
+        LocalDateTime afterTimeIn;
+        try {
+            afterTimeIn = after != null ? LocalDateTime.parse(after[0]) : null;
+        } catch (DateTimeParseException ex) {
+            throw new InvalidOperationException("Invalid cursor: " + cursor);
+        }
+
+        List<VehicleResponse> vehicles = vehicleRepository.findPage(status, from, to,
+                        afterTimeIn, after != null ? after[1] : null, KeysetCursor.probe(pageSize)).stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+        return KeysetCursor.page(vehicles, pageSize,
+                vehicle -> KeysetCursor.encode(vehicle.getTimeIn().toString(), vehicle.getVehicleId()));
+    }
+
     @Override
     @Transactional
     public VehicleResponse updateBillAmount(String vehicleId, BillUpdateRequest request) {
@@ -147,8 +355,14 @@ public class ParkingServiceImpl implements ParkingService {
                     "Cannot update bill for vehicle that has not exited");
         }
 
-        // Update the bill amount
+        // Update the bill amount, on the recorded visit as well so revenue reflects the correction
         vehicle.setBillAmt(request.getBillAmt());
+        parkingSessionRepository.findFirstByVehicleVehicleIdOrderByTimeInDesc(vehicleId)
+                .ifPresent(session -> {
+                    double delta = request.getBillAmt() - (session.getAmount() != null ? session.getAmount() : 0);
+                    session.setAmount(request.getBillAmt());
+                    recordRevenueAdjustment(session, delta);
+                });
 
         // Save the updated vehicle
         vehicle = vehicleRepository.save(vehicle);
@@ -156,6 +370,119 @@ public class ParkingServiceImpl implements ParkingService {
         return mapToResponse(vehicle);
     }
 
+    // Runs inside the caller's transaction. Calls go through this, not the proxy, so a rejected
+    // event does not mark the whole chunk rollback-only. With a batch, nothing is written until the
+    // chunk ends: slot updates go out as one JDBC batch and vehicle/session rows in Hibernate's batches.
+    private List<GateEventResultResponse> applyGateEvents(List<GateEventRequest> events, int offset,
+                                                          GateBatch batch) {
+        if (batch != null) {
+            // Otherwise every vehicle lookup would flush the rows queued by the events before it
+            entityManager.setFlushMode(FlushModeType.COMMIT);
+        }
+        List<GateEventResultResponse> results = new ArrayList<>(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            GateEventRequest event = events.get(i);
+            try {
+                VehicleResponse vehicle = switch (event.getType()) {
+                    case ENTRY -> {
+                        if (event.getVehicleType() == null) {
+                            throw new InvalidOperationException("Vehicle type is required for entry");
+                        }
+                        VehicleEntryRequest request = VehicleEntryRequest.builder()
+                                .vehicleType(event.getVehicleType())
+                                .vehicleRegistration(event.getVehicleRegistration())
+                                .build();
+                        yield parkingMetrics.timeEntry(() -> park(request, batch));
+                    }
+                    case EXIT -> parkingMetrics.timeExit(() -> exit(event.getVehicleRegistration(), batch));
+                };
+                results.add(GateEventResultResponse.builder()
+                        .index(offset + i)
+                        .type(event.getType())
+                        .vehicleRegistration(event.getVehicleRegistration())
+                        .success(true)
+                        .vehicle(vehicle)
+                        .build());
+            } catch (InvalidOperationException | ResourceNotFoundException | NoAvailableSlotException
+                     | DuplicateResourceException e) {
+                results.add(gateEventFailure(offset + i, event, e.getMessage()));
+            }
+        }
+        if (batch != null) {
+            writeGateBatch(batch);
+        }
+        return results;
+    }
+
+    // Slot updates first, each still conditional on the status it was claimed or released from. One that
+    // matches no row means the slot changed behind our back, and the chunk is replayed event by event.
+    private void writeGateBatch(GateBatch batch) {
+        int[] counts = jdbcTemplate.batchUpdate(COMPARE_AND_SET_SLOT_STATUS, batch.slotUpdates);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                throw new OptimisticLockingFailureException(
+                        "Slot " + batch.slotUpdates.get(i)[1] + " changed while the gate batch was applied");
+            }
+        }
+        entityManager.flush();
+    }
+
+    private GateEventResultResponse gateEventFailure(int index, GateEventRequest event, String message) {
+        return GateEventResultResponse.builder()
+                .index(index)
+                .type(event.getType())
+                .vehicleRegistration(event.getVehicleRegistration())
+                .success(false)
+                .message(message)
+                .build();
+    }
+
+    private SlotClaim claimSlot(SlotType slotType, VehicleType vehicleType, GateBatch batch) {
+        for (int attempt = 0; attempt < MAX_CLAIM_ATTEMPTS; attempt++) {
+            Optional<SlotClaim> claimed = slotAllocator.claim(slotType);
+            if (claimed.isEmpty()) {
+                parkingMetrics.noAvailableSlot(slotType);
+                throw new NoAvailableSlotException("No available slot for " + vehicleType);
+            }
+            SlotClaim claim = claimed.get();
+
+            if (batch != null) {
+                // Checked when the chunk is written; if it fails there, the replay claims again
+                batch.updateSlot(claim.slotId(), SlotStatus.AVAILABLE, SlotStatus.OCCUPIED);
+                TransactionHooks.afterRollback(() -> slotAllocator.release(claim.slotId()));
+                return claim;
+            }
+
+            // The conditional update is the real claim; the allocator only narrows the search
+            if (parkingSlotRepository.compareAndSetStatus(
+                    claim.slotId(), SlotStatus.AVAILABLE, SlotStatus.OCCUPIED) == 1) {
+                TransactionHooks.afterRollback(() -> slotAllocator.release(claim.slotId()));
+                return claim;
+            }
+
+            // Row is no longer available (changed outside this instance); the allocator rechecks it later
+            log.warn("Slot {} was not available in the database, trying another slot", claim.slotId());
+            slotAllocator.quarantine(claim.slotId());
+        }
+
+        parkingMetrics.noAvailableSlot(slotType);
+        throw new NoAvailableSlotException("No available slot for " + vehicleType);
+    }
+
+    // Moves revenue in the usage rollups once the corrected bill is committed
+    private void recordRevenueAdjustment(ParkingSession session, double delta) {
+        if (delta == 0 || session.getSlotId() == null) {
+            return;
+        }
+        slotAllocator.locate(session.getSlotId()).ifPresent(location -> TransactionHooks.afterCommit(() ->
+                usageRollupRecorder.recordRevenueAdjustment(session.getTimeOut(), location.parkingLotId(),
+                        location.floorId(), location.slotType(), delta)));
+    }
+
+    private String parkingLotOf(String slotId) {
+        return slotId != null ? slotAllocator.locate(slotId).map(SlotClaim::parkingLotId).orElse(null) : null;
+    }
+
     private SlotType mapVehicleTypeToSlotType(VehicleType vehicleType) {
         return switch (vehicleType) {
             case TWO_WHEELER -> SlotType.TWO_WHEELER;
@@ -164,6 +491,22 @@ public class ParkingServiceImpl implements ParkingService {
         };
     }
 
+    private ParkedVehicle toParked(Vehicle vehicle) {
+        return new ParkedVehicle(vehicle.getVehicleId(), vehicle.getVehicleRegistration(), vehicle.getVehicleType(),
+                vehicle.getAssignedSlot() != null ? vehicle.getAssignedSlot().getSlotId() : null, vehicle.getTimeIn());
+    }
+
+    private VehicleResponse mapToResponse(ParkedVehicle parked) {
+        return VehicleResponse.builder()
+                .vehicleId(parked.vehicleId())
+                .vehicleType(parked.vehicleType())
+                .vehicleRegistration(parked.vehicleRegistration())
+                .timeIn(parked.timeIn())
+                .status(VehicleStatus.PARKED)
+                .assignedSlotId(parked.slotId())
+                .build();
+    }
+
     private VehicleResponse mapToResponse(Vehicle vehicle) {
         return VehicleResponse.builder()
                 .vehicleId(vehicle.getVehicleId())
@@ -177,4 +520,14 @@ public class ParkingServiceImpl implements ParkingService {
                         vehicle.getAssignedSlot().getSlotId() : null)
                 .build();
     }
+
+    // Writes queued by one chunk of a batch upload, and the vehicle rows it has touched by plate
+    private static final class GateBatch {
+        private final Map<String, Vehicle> vehicles = new HashMap<>();
+        private final List<Object[]> slotUpdates = new ArrayList<>();
+
+        void updateSlot(String slotId, SlotStatus expected, SlotStatus status) {
+            slotUpdates.add(new Object[]{status.name(), slotId, expected.name()});
+        }
+    }
 }
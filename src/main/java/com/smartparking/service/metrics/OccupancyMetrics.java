@@ -0,0 +1,60 @@
+package com.smartparking.service.metrics;
+
+import com.smartparking.service.allocation.SlotAllocator;
+import com.smartparking.service.allocation.SlotPoolSnapshot;
+import com.smartparking.service.occupancy.OccupancyTracker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+
+// Per lot/floor/slot type gauges. Floors can be added at runtime, so the rows are rebuilt
+// from the allocator snapshot on a schedule instead of being registered once.
+@Component
+public class OccupancyMetrics {
+
+    private final SlotAllocator slotAllocator;
+    private final OccupancyTracker occupancyTracker;
+
+    private final MultiGauge totalSlots;
+    private final MultiGauge availableSlots;
+    private final MultiGauge occupiedSlots;
+
+    public OccupancyMetrics(MeterRegistry registry, SlotAllocator slotAllocator, OccupancyTracker occupancyTracker) {
+        this.slotAllocator = slotAllocator;
+        this.occupancyTracker = occupancyTracker;
+        this.totalSlots = MultiGauge.builder("parking.slots.total")
+                .description("Slots per lot, floor and slot type")
+                .register(registry);
+        this.availableSlots = MultiGauge.builder("parking.slots.available")
+                .description("Slots the allocator can hand out")
+                .register(registry);
+        this.occupiedSlots = MultiGauge.builder("parking.slots.occupied")
+                .description("Occupied slots from the live occupancy counters")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${parking.metrics.occupancy-refresh-ms:5000}")
+    public void refresh() {
+        List<SlotPoolSnapshot> pools = slotAllocator.snapshot();
+        totalSlots.register(rows(pools, SlotPoolSnapshot::totalSlots), true);
+        availableSlots.register(rows(pools, SlotPoolSnapshot::availableSlots), true);
+        occupiedSlots.register(rows(pools, pool -> occupancyTracker.occupied(pool.floorId(), pool.slotType())), true);
+    }
+
+    private static List<MultiGauge.Row<?>> rows(List<SlotPoolSnapshot> pools,
+                                                ToDoubleFunction<SlotPoolSnapshot> value) {
+        return pools.stream()
+                .<MultiGauge.Row<?>>map(pool -> MultiGauge.Row.of(Tags.of(
+                        "lot", pool.parkingLotId(),
+                        "floor", Integer.toString(pool.floorNo()),
+                        "floorId", pool.floorId(),
+                        "slotType", pool.slotType().name()), value.applyAsDouble(pool)))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,78 @@
+package com.smartparking.service.metrics;
+
+import com.smartparking.enums.SlotType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Callable;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+
+// Timers and counters for the parking hot paths. Entry/exit timers cover the service method
+// body; http.server.requests covers the whole request including the commit.
+@Component
+public class ParkingMetrics {
+
+    private final MeterRegistry registry;
+    private final Timer pricingTimer;
+    private final Timer tokenVerificationTimer;
+    private final Counter alreadyParkedCounter;
+
+    public ParkingMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.pricingTimer = Timer.builder("parking.pricing")
+                .description("Time to calculate a bill")
+                .register(registry);
+        this.tokenVerificationTimer = Timer.builder("auth.token.verification")
+                .description("Time to verify a bearer token that was not cached")
+                .register(registry);
+        this.alreadyParkedCounter = Counter.builder("parking.entry.rejected")
+                .description("Entries rejected before a slot was claimed")
+                .tag("reason", "already_parked")
+                .tag("slotType", "none")
+                .register(registry);
+    }
+
+    public <T> T timeEntry(Supplier<T> entry) {
+        return time("parking.entry", entry);
+    }
+
+    public <T> T timeExit(Supplier<T> exit) {
+        return time("parking.exit", exit);
+    }
+
+    public double timePricing(DoubleSupplier pricing) {
+        return pricingTimer.record(pricing);
+    }
+
+    public <T> T timeTokenVerification(Callable<T> verification) throws Exception {
+        return tokenVerificationTimer.recordCallable(verification);
+    }
+
+    public void alreadyParked() {
+        alreadyParkedCounter.increment();
+    }
+
+    public void noAvailableSlot(SlotType slotType) {
+        Counter.builder("parking.entry.rejected")
+                .description("Entries rejected before a slot was claimed")
+                .tag("reason", "no_available_slot")
+                .tag("slotType", slotType.name())
+                .register(registry)
+                .increment();
+    }
+
+    private <T> T time(String name, Supplier<T> operation) {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "error";
+        try {
+            T result = operation.get();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(Timer.builder(name).tag("outcome", outcome).register(registry));
+        }
+    }
+}
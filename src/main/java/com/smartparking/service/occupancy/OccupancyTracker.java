@@ -0,0 +1,162 @@
+package com.smartparking.service.occupancy;
+
+import com.smartparking.entity.Floor;
+import com.smartparking.enums.SlotStatus;
+import com.smartparking.enums.SlotType;
+import com.smartparking.repository.FloorRepository;
+import com.smartparking.repository.ParkingSlotRepository;
+import com.smartparking.repository.projection.SlotOccupancyView;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Live occupancy per floor, lot and slot type. Park/exit only touch striped counters;
+// floors.allotted_slots is brought up to date by a periodic batch of relative updates. Those are plain SQL:
+// a bulk update through Hibernate would evict the cached floors (TopologyCache) on every flush.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OccupancyTracker implements SmartInitializingSingleton {
+
+    private static final int SLOT_TYPES = SlotType.values().length;
+    private static final String ADJUST_ALLOTTED_SLOTS =
+            "UPDATE floors SET allotted_slots = allotted_slots + ? WHERE floor_id = ?";
+    private static final String UPDATE_ALLOTTED_SLOTS =
+            "UPDATE floors SET allotted_slots = ? WHERE floor_id = ?";
+
+    private final FloorRepository floorRepository;
+    private final ParkingSlotRepository parkingSlotRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<String, FloorCounters> floors = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder[]> lots = new ConcurrentHashMap<>();
+
+    // Seeds the counters from the slot rows and repairs any drift left in floors.allotted_slots,
+    // before the web server starts
+    @Override
+    @Transactional
+    public void afterSingletonsInstantiated() {
+        Map<String, long[]> occupiedByFloor = new HashMap<>();
+        for (SlotOccupancyView view : parkingSlotRepository.countByFloorAndSlotType(SlotStatus.OCCUPIED)) {
+            occupiedByFloor.computeIfAbsent(view.getFloorId(), k -> new long[SLOT_TYPES])
+                    [view.getSlotType().ordinal()] = view.getOccupied();
+        }
+
+        int repaired = 0;
+        for (Floor floor : floorRepository.findAll()) {
+            long[] occupied = occupiedByFloor.getOrDefault(floor.getFloorId(), new long[SLOT_TYPES]);
+            FloorCounters counters = counters(floor.getParkingLot().getParkingLotId(), floor.getFloorId());
+            long total = 0;
+            for (SlotType slotType : SlotType.values()) {
+                long count = occupied[slotType.ordinal()];
+                counters.occupied[slotType.ordinal()].add(count);
+                lots.get(counters.parkingLotId)[slotType.ordinal()].add(count);
+                total += count;
+            }
+
+            if (floor.getAllottedSlots() == null || floor.getAllottedSlots() != total) {
+                jdbcTemplate.update(UPDATE_ALLOTTED_SLOTS, (int) total, floor.getFloorId());
+                repaired++;
+            }
+        }
+
+        log.info("Occupancy tracker loaded {} floors ({} allotted counts repaired)", floors.size(), repaired);
+    }
+
+    public void registerFloor(String parkingLotId, String floorId) {
+        counters(parkingLotId, floorId);
+    }
+
+    public void slotOccupied(String parkingLotId, String floorId, SlotType slotType) {
+        adjust(parkingLotId, floorId, slotType, 1);
+    }
+
+    public void slotReleased(String parkingLotId, String floorId, SlotType slotType) {
+        adjust(parkingLotId, floorId, slotType, -1);
+    }
+
+    public long occupied(String floorId, SlotType slotType) {
+        FloorCounters counters = floors.get(floorId);
+        return counters != null ? counters.occupied[slotType.ordinal()].sum() : 0;
+    }
+
+    // Falls back to the stored column for floors the tracker has not seen yet
+    public int allottedSlots(Floor floor) {
+        FloorCounters counters = floors.get(floor.getFloorId());
+        if (counters == null) {
+            return floor.getAllottedSlots();
+        }
+        long total = 0;
+        for (LongAdder adder : counters.occupied) {
+            total += adder.sum();
+        }
+        return (int) total;
+    }
+
+    public long occupiedInLot(String parkingLotId, SlotType slotType) {
+        LongAdder[] counters = lots.get(parkingLotId);
+        return counters != null ? counters[slotType.ordinal()].sum() : 0;
+    }
+
+    @Scheduled(fixedDelayString = "${parking.occupancy.flush-interval-ms:1000}")
+    public void flush() {
+        floors.forEach((floorId, counters) -> {
+            long delta = counters.pending.sumThenReset();
+            if (delta == 0) {
+                return;
+            }
+            try {
+                jdbcTemplate.update(ADJUST_ALLOTTED_SLOTS, (int) delta, floorId);
+            } catch (RuntimeException e) {
+                // Keep the delta for the next round rather than losing it
+                counters.pending.add(delta);
+                log.warn("Could not flush occupancy for floor {}: {}", floorId, e.getMessage());
+            }
+        });
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void adjust(String parkingLotId, String floorId, SlotType slotType, int delta) {
+        FloorCounters counters = counters(parkingLotId, floorId);
+        counters.occupied[slotType.ordinal()].add(delta);
+        counters.pending.add(delta);
+        lots.get(parkingLotId)[slotType.ordinal()].add(delta);
+    }
+
+    private FloorCounters counters(String parkingLotId, String floorId) {
+        lots.computeIfAbsent(parkingLotId, k -> newAdders());
+        return floors.computeIfAbsent(floorId, k -> new FloorCounters(parkingLotId));
+    }
+
+    private static LongAdder[] newAdders() {
+        LongAdder[] adders = new LongAdder[SLOT_TYPES];
+        for (int i = 0; i < SLOT_TYPES; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    private static final class FloorCounters {
+        private final String parkingLotId;
+        private final LongAdder[] occupied = newAdders();
+        private final LongAdder pending = new LongAdder();
+
+        private FloorCounters(String parkingLotId) {
+            this.parkingLotId = parkingLotId;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.smartparking.service.parked;
+
+import com.smartparking.enums.VehicleType;
+
+import java.time.LocalDateTime;
+
+public record ParkedVehicle(String vehicleId, String vehicleRegistration, VehicleType vehicleType,
+                            String slotId, LocalDateTime timeIn) {
+}
@@ -0,0 +1,61 @@
+package com.smartparking.service.parked;
+
+import com.smartparking.repository.VehicleRepository;
+import com.smartparking.repository.projection.ParkedVehicleView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Registration -> active session for every vehicle currently parked. Bounded by the slot count.
+// The vehicles table stays the durable record; entries are only added or removed once a park or
+// exit has committed, so a hit always reflects committed state.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ParkedVehicleIndex implements SmartInitializingSingleton {
+
+    private final VehicleRepository vehicleRepository;
+
+    private final Map<String, ParkedVehicle> byRegistration = new ConcurrentHashMap<>();
+
+    // Before the web server starts, so an early exit or re-entry is not missed
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (ParkedVehicleView view : vehicleRepository.findParkedVehicleViews()) {
+            byRegistration.put(view.getVehicleRegistration(), new ParkedVehicle(view.getVehicleId(),
+                    view.getVehicleRegistration(), view.getVehicleType(), view.getSlotId(), view.getTimeIn()));
+        }
+        log.info("Parked vehicle index loaded {} vehicles", byRegistration.size());
+    }
+
+    public Optional<ParkedVehicle> find(String vehicleRegistration) {
+        return Optional.ofNullable(byRegistration.get(vehicleRegistration));
+    }
+
+    public boolean isParked(String vehicleRegistration) {
+        return byRegistration.containsKey(vehicleRegistration);
+    }
+
+    public int size() {
+        return byRegistration.size();
+    }
+
+    public void parked(ParkedVehicle vehicle) {
+        byRegistration.put(vehicle.vehicleRegistration(), vehicle);
+    }
+
+    // Only drops the given session, so a late exit hook cannot remove a re-entry that committed after it
+    public void exited(ParkedVehicle vehicle) {
+        byRegistration.remove(vehicle.vehicleRegistration(), vehicle);
+    }
+
+    // For entries found to be stale against the database
+    public void evict(String vehicleRegistration) {
+        byRegistration.remove(vehicleRegistration);
+    }
+}
@@ -0,0 +1,52 @@
+package com.smartparking.service.provisioning;
+
+import com.smartparking.entity.ParkingSlot;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+// Inserts new slots for bulk provisioning. Slots are persisted in chunks of batch-size: each chunk is
+// flushed as JDBC batch inserts at that batch size and then detached, so a 5,000-slot lot neither holds
+// 5,000 managed entities nor dirty-checks them on every flush. Slot ids are time-ordered UUIDs generated
+// in memory (TimeOrderedIdGenerator), so no insert waits on the database for its key. A sequence with a
+// pooled optimizer exists to cut those key round trips, and here there are none to cut.
+@Component
+public class SlotProvisioner {
+
+    private final EntityManager entityManager;
+    private final int batchSize;
+
+    public SlotProvisioner(EntityManager entityManager,
+                           @Value("${parking.provisioning.batch-size:500}") int batchSize) {
+        this.entityManager = entityManager;
+        this.batchSize = batchSize;
+    }
+
+    // Detaches everything in the persistence context, so callers must not rely on managed entities afterwards
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void persistAll(List<ParkingSlot> slots) {
+        Session session = entityManager.unwrap(Session.class);
+        Integer previousBatchSize = session.getJdbcBatchSize();
+        session.setJdbcBatchSize(batchSize);
+        try {
+            // Whatever is pending goes out first, so the chunks below contain only slot inserts
+            entityManager.flush();
+            for (int i = 0; i < slots.size(); i++) {
+                entityManager.persist(slots.get(i));
+                if ((i + 1) % batchSize == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+            entityManager.flush();
+            entityManager.clear();
+        } finally {
+            session.setJdbcBatchSize(previousBatchSize);
+        }
+    }
+}
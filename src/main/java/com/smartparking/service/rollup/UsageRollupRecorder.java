@@ -0,0 +1,256 @@
+package com.smartparking.service.rollup;
+
+import com.smartparking.entity.UsageRollup;
+import com.smartparking.enums.RollupGranularity;
+import com.smartparking.enums.SlotType;
+import com.smartparking.repository.UsageRollupRepository;
+import com.smartparking.repository.projection.UsageTotalsView;
+import com.smartparking.service.allocation.SlotAllocator;
+import com.smartparking.service.allocation.SlotPoolSnapshot;
+import com.smartparking.service.occupancy.OccupancyTracker;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+// Keeps usage_rollups current without touching the database per event. Park/exit hooks and periodic
+// occupancy samples add to in-memory hour buckets, which are merged into the hour rows on each flush.
+// Compaction rebuilds day rows from hour rows and drops hour rows past their retention.
+@Component
+@Slf4j
+public class UsageRollupRecorder {
+
+    private final UsageRollupRepository usageRollupRepository;
+    private final SlotAllocator slotAllocator;
+    private final OccupancyTracker occupancyTracker;
+    private final TransactionTemplate transactionTemplate;
+    private final int hourlyRetentionDays;
+
+    private final Map<BucketKey, BucketCounters> pending = new ConcurrentHashMap<>();
+
+    // End of the last occupancy sample; only touched from the scheduled flush
+    private volatile LocalDateTime sampledUpTo;
+
+    public UsageRollupRecorder(UsageRollupRepository usageRollupRepository,
+                               SlotAllocator slotAllocator,
+                               OccupancyTracker occupancyTracker,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${parking.rollups.hourly-retention-days:90}") int hourlyRetentionDays) {
+        this.usageRollupRepository = usageRollupRepository;
+        this.slotAllocator = slotAllocator;
+        this.occupancyTracker = occupancyTracker;
+        this.transactionTemplate = transactionTemplate;
+        // Compaction re-reads the current and previous day from hour rows, so keep at least those
+        this.hourlyRetentionDays = Math.max(hourlyRetentionDays, 2);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        sampledUpTo = LocalDateTime.now();
+    }
+
+    // Call once the entry is committed
+    public void recordEntry(String parkingLotId, String floorId, SlotType slotType) {
+        add(new BucketKey(RollupGranularity.HOUR, hourOf(LocalDateTime.now()), parkingLotId, floorId, slotType),
+                counters -> counters.entries.increment());
+    }
+
+    // Call once the exit is committed
+    public void recordExit(String parkingLotId, String floorId, SlotType slotType, double amount) {
+        add(new BucketKey(RollupGranularity.HOUR, hourOf(LocalDateTime.now()), parkingLotId, floorId, slotType),
+                counters -> {
+                    counters.exits.increment();
+                    counters.revenue.add(amount);
+                });
+    }
+
+    // A bill changed after the fact. The day row is adjusted too, since hour rows of old days may be gone.
+    public void recordRevenueAdjustment(LocalDateTime timeOut, String parkingLotId, String floorId,
+                                        SlotType slotType, double delta) {
+        add(new BucketKey(RollupGranularity.HOUR, hourOf(timeOut), parkingLotId, floorId, slotType),
+                counters -> counters.revenue.add(delta));
+        add(new BucketKey(RollupGranularity.DAY, timeOut.truncatedTo(ChronoUnit.DAYS), parkingLotId, floorId,
+                slotType), counters -> counters.revenue.add(delta));
+    }
+
+    @Scheduled(fixedDelayString = "${parking.rollups.flush-interval-ms:60000}")
+    public void flush() {
+        if (sampledUpTo != null) {
+            sampleOccupancy(LocalDateTime.now());
+        }
+
+        List<Delta> deltas = drain();
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> deltas.forEach(this::merge));
+        } catch (RuntimeException e) {
+            // Keep the deltas for the next round rather than losing them
+            deltas.forEach(delta -> add(delta.key(), delta::addTo));
+            log.warn("Could not flush {} usage rollup buckets: {}", deltas.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    // Rebuilds day rows from hour rows, starting the day before the newest day row (that row and the one
+    // before may have been built while their day was still filling up), then drops hour rows past retention
+    @Scheduled(cron = "${parking.rollups.compaction-cron:0 5 * * * *}")
+    public void compact() {
+        LocalDateTime today = LocalDate.now().atStartOfDay();
+        LocalDateTime firstDay = usageRollupRepository.findLatestBucket(RollupGranularity.DAY)
+                .map(bucket -> bucket.minusDays(1))
+                .or(() -> usageRollupRepository.findEarliestBucket(RollupGranularity.HOUR))
+                .map(bucket -> bucket.truncatedTo(ChronoUnit.DAYS))
+                .orElse(null);
+        if (firstDay == null) {
+            return;
+        }
+
+        int days = 0;
+        for (LocalDateTime day = firstDay; !day.isAfter(today); day = day.plusDays(1)) {
+            LocalDateTime dayStart = day;
+            transactionTemplate.executeWithoutResult(status -> rebuildDay(dayStart));
+            days++;
+        }
+
+        LocalDateTime cutoff = today.minusDays(hourlyRetentionDays);
+        Integer purged = transactionTemplate.execute(status -> usageRollupRepository.deleteBucketsBefore(
+                RollupGranularity.HOUR, cutoff));
+        log.debug("Usage rollups compacted {} days, purged {} hour rows", days, purged);
+    }
+
+    private void rebuildDay(LocalDateTime dayStart) {
+        LocalDateTime dayEnd = dayStart.plusDays(1);
+        List<UsageTotalsView> totals = usageRollupRepository.sumHours(dayStart, dayEnd);
+        usageRollupRepository.deleteBuckets(RollupGranularity.DAY, dayStart, dayEnd);
+        usageRollupRepository.saveAll(totals.stream()
+                .map(total -> UsageRollup.builder()
+                        .granularity(RollupGranularity.DAY)
+                        .bucketStart(dayStart)
+                        .parkingLotId(total.getParkingLotId())
+                        .floorId(total.getFloorId())
+                        .slotType(total.getSlotType())
+                        .entries(total.getEntries())
+                        .exits(total.getExits())
+                        .occupiedMinutes(total.getOccupiedMinutes())
+                        .revenue(total.getRevenue())
+                        .build())
+                .toList());
+    }
+
+    // Adds occupied-slot minutes since the previous sample, split at hour boundaries. Occupancy is taken
+    // as constant between samples, so the flush interval bounds the error.
+    private void sampleOccupancy(LocalDateTime now) {
+        List<SlotPoolSnapshot> pools = slotAllocator.snapshot();
+        LocalDateTime from = sampledUpTo;
+        while (from.isBefore(now)) {
+            LocalDateTime hour = hourOf(from);
+            LocalDateTime to = hour.plusHours(1).isBefore(now) ? hour.plusHours(1) : now;
+            double minutes = Duration.between(from, to).toMillis() / 60_000.0;
+            for (SlotPoolSnapshot pool : pools) {
+                long occupied = occupancyTracker.occupied(pool.floorId(), pool.slotType());
+                if (occupied > 0) {
+                    add(new BucketKey(RollupGranularity.HOUR, hour, pool.parkingLotId(), pool.floorId(),
+                            pool.slotType()), counters -> counters.occupiedMinutes.add(occupied * minutes));
+                }
+            }
+            from = to;
+        }
+        sampledUpTo = now;
+    }
+
+    private List<Delta> drain() {
+        LocalDateTime previousHour = hourOf(LocalDateTime.now()).minusHours(1);
+        List<Delta> deltas = new ArrayList<>();
+        for (BucketKey key : pending.keySet()) {
+            // Reading and unlinking happen under the key's lock, which every add also takes, so no add
+            // lands in a bucket after it was read. Buckets of past hours only receive late adjustments
+            // and are unlinked; the next adjustment starts a new bucket.
+            pending.computeIfPresent(key, (k, counters) -> {
+                Delta delta = new Delta(k, counters.entries.sumThenReset(), counters.exits.sumThenReset(),
+                        counters.occupiedMinutes.sumThenReset(), counters.revenue.sumThenReset());
+                if (!delta.isEmpty()) {
+                    deltas.add(delta);
+                }
+                return k.bucketStart().isBefore(previousHour) ? null : counters;
+            });
+        }
+        return deltas;
+    }
+
+    private void merge(Delta delta) {
+        BucketKey key = delta.key();
+        UsageRollup rollup = usageRollupRepository.findByGranularityAndBucketStartAndFloorIdAndSlotType(
+                        key.granularity(), key.bucketStart(), key.floorId(), key.slotType())
+                .orElseGet(() -> UsageRollup.builder()
+                        .granularity(key.granularity())
+                        .bucketStart(key.bucketStart())
+                        .parkingLotId(key.parkingLotId())
+                        .floorId(key.floorId())
+                        .slotType(key.slotType())
+                        .build());
+        rollup.setEntries(rollup.getEntries() + delta.entries());
+        rollup.setExits(rollup.getExits() + delta.exits());
+        rollup.setOccupiedMinutes(rollup.getOccupiedMinutes() + delta.occupiedMinutes());
+        rollup.setRevenue(rollup.getRevenue() + delta.revenue());
+        usageRollupRepository.save(rollup);
+    }
+
+    // Adds under the key's lock rather than to a reference handed out, which drain could unlink first
+    private void add(BucketKey key, Consumer<BucketCounters> update) {
+        pending.compute(key, (k, counters) -> {
+            BucketCounters bucket = counters != null ? counters : new BucketCounters();
+            update.accept(bucket);
+            return bucket;
+        });
+    }
+
+    private static LocalDateTime hourOf(LocalDateTime time) {
+        return time.truncatedTo(ChronoUnit.HOURS);
+    }
+
+    private record BucketKey(RollupGranularity granularity, LocalDateTime bucketStart,
+                             String parkingLotId, String floorId, SlotType slotType) {
+    }
+
+    private record Delta(BucketKey key, long entries, long exits, double occupiedMinutes, double revenue) {
+        boolean isEmpty() {
+            return entries == 0 && exits == 0 && occupiedMinutes == 0 && revenue == 0;
+        }
+
+        void addTo(BucketCounters counters) {
+            counters.entries.add(entries);
+            counters.exits.add(exits);
+            counters.occupiedMinutes.add(occupiedMinutes);
+            counters.revenue.add(revenue);
+        }
+    }
+
+    private static final class BucketCounters {
+        private final LongAdder entries = new LongAdder();
+        private final LongAdder exits = new LongAdder();
+        private final DoubleAdder occupiedMinutes = new DoubleAdder();
+        private final DoubleAdder revenue = new DoubleAdder();
+    }
+}
@@ -1,11 +1,11 @@
 package com.smartparking.service.strategy;
 
 import com.smartparking.enums.VehicleType;
-import org.springframework.stereotype.Component;
 
 import java.time.Duration;
 
-@Component
+// Flat hourly rates. No longer the application's bean (see TariffPricingStrategy, whose built-in
+// tariff charges the same), kept as the baseline for custom strategies and benchmarks.
 public class DefaultPricingStrategy implements PricingStrategy {
 
     private static final double TWO_WHEELER_BASE_RATE = 10.0;  // per hour
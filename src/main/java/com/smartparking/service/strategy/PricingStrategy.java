@@ -3,7 +3,14 @@ package com.smartparking.service.strategy;
 import com.smartparking.enums.VehicleType;
 
 import java.time.Duration;
+import java.time.LocalDateTime;
 
 public interface PricingStrategy {
     double calculatePrice(VehicleType vehicleType, Duration parkingDuration);
+
+    // Strategies whose rates depend on the lot or the time of day override this
+    default double calculatePrice(VehicleType vehicleType, String parkingLotId,
+                                  LocalDateTime timeIn, LocalDateTime timeOut) {
+        return calculatePrice(vehicleType, Duration.between(timeIn, timeOut));
+    }
 }
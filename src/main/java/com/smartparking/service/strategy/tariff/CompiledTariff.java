@@ -0,0 +1,130 @@
+package com.smartparking.service.strategy.tariff;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+// A tariff flattened into lookup tables over the minute of the week. Each started hour is charged at
+// the rate in effect at its first minute, so the hours of a stay all share the entry minute modulo 60.
+// Prefix sums per residue turn "n hours from minute m" into two lookups, and the 24-hour cap works on
+// at most seven distinct day windows, so a price never depends on how long or complex the stay is.
+final class CompiledTariff {
+
+    static final int MINUTES_PER_HOUR = 60;
+    static final int MINUTES_PER_DAY = 24 * MINUTES_PER_HOUR;
+    static final int MINUTES_PER_WEEK = 7 * MINUTES_PER_DAY;
+    private static final int HOURS_PER_DAY = 24;
+    private static final int HOURS_PER_WEEK = 7 * HOURS_PER_DAY;
+    private static final int DAYS_PER_WEEK = 7;
+
+    private final double minimumCharge;
+    private final int minimumChargeMinutes;
+    private final double dailyCap;
+    private final boolean capped;
+
+    // [entry minute % 60][k] = charge for the first k hours of the week starting at that residue
+    private final double[][] hourPrefix;
+    // [entry minute % 1440] = capped charge for the seven day windows of a full week
+    private final double[] cappedWeek;
+
+    CompiledTariff(TariffDefinition definition) {
+        if (definition.getVehicleType() == null) {
+            throw new IllegalArgumentException("Tariff is missing vehicleType");
+        }
+        double baseRate = requireRate(definition.getHourlyRate(), definition);
+        this.minimumCharge = definition.getMinimumCharge();
+        this.minimumChargeMinutes = definition.getMinimumChargeMinutes();
+        this.capped = definition.getDailyCap() != null;
+        this.dailyCap = capped ? definition.getDailyCap() : 0;
+
+        double[] rateByMinute = new double[MINUTES_PER_WEEK];
+        Arrays.fill(rateByMinute, baseRate);
+        for (TariffRate rate : definition.getRates()) {
+            apply(rateByMinute, rate, requireRate(rate.getHourlyRate(), definition));
+        }
+
+        hourPrefix = new double[MINUTES_PER_HOUR][HOURS_PER_WEEK + 1];
+        for (int residue = 0; residue < MINUTES_PER_HOUR; residue++) {
+            for (int hour = 0; hour < HOURS_PER_WEEK; hour++) {
+                hourPrefix[residue][hour + 1] = hourPrefix[residue][hour]
+                        + rateByMinute[residue + hour * MINUTES_PER_HOUR];
+            }
+        }
+
+        cappedWeek = new double[capped ? MINUTES_PER_DAY : 0];
+        for (int start = 0; start < cappedWeek.length; start++) {
+            double total = 0;
+            for (int day = 0; day < DAYS_PER_WEEK; day++) {
+                total += Math.min(dailyCap, hours(start + day * MINUTES_PER_DAY, HOURS_PER_DAY));
+            }
+            cappedWeek[start] = total;
+        }
+    }
+
+    double price(LocalDateTime timeIn, long minutes) {
+        if (minutes < minimumChargeMinutes) {
+            return minimumCharge;
+        }
+
+        int entryMinute = minuteOfWeek(timeIn);
+        long startedHours = (minutes + MINUTES_PER_HOUR - 1) / MINUTES_PER_HOUR;
+        if (!capped) {
+            return hours(entryMinute, startedHours);
+        }
+
+        long fullDays = startedHours / HOURS_PER_DAY;
+        double total = (fullDays / DAYS_PER_WEEK) * cappedWeek[entryMinute % MINUTES_PER_DAY];
+        for (int day = 0; day < fullDays % DAYS_PER_WEEK; day++) {
+            total += Math.min(dailyCap, hours(entryMinute + day * MINUTES_PER_DAY, HOURS_PER_DAY));
+        }
+        int dayStart = (int) ((entryMinute + (fullDays % DAYS_PER_WEEK) * MINUTES_PER_DAY) % MINUTES_PER_WEEK);
+        total += Math.min(dailyCap, hours(dayStart, startedHours % HOURS_PER_DAY));
+        return total;
+    }
+
+    // Charge for `count` consecutive hours, the first starting at `startMinute` of the week
+    private double hours(int startMinute, long count) {
+        startMinute %= MINUTES_PER_WEEK;
+        double[] prefix = hourPrefix[startMinute % MINUTES_PER_HOUR];
+        int first = startMinute / MINUTES_PER_HOUR;
+        int remainder = (int) (count % HOURS_PER_WEEK);
+        double total = (count / HOURS_PER_WEEK) * prefix[HOURS_PER_WEEK];
+        int end = first + remainder;
+        if (end <= HOURS_PER_WEEK) {
+            return total + prefix[end] - prefix[first];
+        }
+        return total + prefix[HOURS_PER_WEEK] - prefix[first] + prefix[end - HOURS_PER_WEEK];
+    }
+
+    static int minuteOfWeek(LocalDateTime time) {
+        return (time.getDayOfWeek().getValue() - 1) * MINUTES_PER_DAY
+                + time.getHour() * MINUTES_PER_HOUR + time.getMinute();
+    }
+
+    private static void apply(double[] rateByMinute, TariffRate rate, double hourlyRate) {
+        if (rate.getFrom() == null || rate.getTo() == null) {
+            throw new IllegalArgumentException("Tariff rate window needs both from and to");
+        }
+        int from = rate.getFrom().getHour() * MINUTES_PER_HOUR + rate.getFrom().getMinute();
+        int to = rate.getTo().getHour() * MINUTES_PER_HOUR + rate.getTo().getMinute();
+        int length = to > from ? to - from : to - from + MINUTES_PER_DAY;
+
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if (rate.getDays() != null && !rate.getDays().isEmpty() && !rate.getDays().contains(day)) {
+                continue;
+            }
+            int start = (day.getValue() - 1) * MINUTES_PER_DAY + from;
+            for (int minute = 0; minute < length; minute++) {
+                rateByMinute[(start + minute) % MINUTES_PER_WEEK] = hourlyRate;
+            }
+        }
+    }
+
+    private static double requireRate(Double rate, TariffDefinition definition) {
+        if (rate == null || rate < 0) {
+            throw new IllegalArgumentException("Tariff for " + definition.getVehicleType()
+                    + " needs a non-negative hourlyRate");
+        }
+        return rate;
+    }
+}
@@ -0,0 +1,67 @@
+package com.smartparking.service.strategy.tariff;
+
+import com.smartparking.enums.VehicleType;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Immutable set of compiled tariffs. A lot-specific tariff wins over the all-lots one for the same type.
+public final class TariffBook {
+
+    private static final int VEHICLE_TYPES = VehicleType.values().length;
+
+    private final CompiledTariff[] defaults;
+    private final Map<String, CompiledTariff[]> byLot;
+
+    private TariffBook(CompiledTariff[] defaults, Map<String, CompiledTariff[]> byLot) {
+        this.defaults = defaults;
+        this.byLot = byLot;
+    }
+
+    // The original flat hourly rates, used when no tariff file is configured
+    public static TariffBook builtIn() {
+        TariffFile file = new TariffFile();
+        file.setTariffs(List.of(
+                TariffDefinition.builder().vehicleType(VehicleType.TWO_WHEELER).hourlyRate(10.0).build(),
+                TariffDefinition.builder().vehicleType(VehicleType.FOUR_WHEELER).hourlyRate(20.0).build(),
+                TariffDefinition.builder().vehicleType(VehicleType.HEAVY_VEHICLE).hourlyRate(40.0).build()));
+        return compile(file);
+    }
+
+    public static TariffBook compile(TariffFile file) {
+        CompiledTariff[] defaults = new CompiledTariff[VEHICLE_TYPES];
+        Map<String, CompiledTariff[]> byLot = new HashMap<>();
+        for (TariffDefinition definition : file.getTariffs()) {
+            CompiledTariff compiled = new CompiledTariff(definition);
+            CompiledTariff[] target = definition.getParkingLotId() == null ? defaults
+                    : byLot.computeIfAbsent(definition.getParkingLotId(), k -> new CompiledTariff[VEHICLE_TYPES]);
+            target[definition.getVehicleType().ordinal()] = compiled;
+        }
+
+        for (VehicleType vehicleType : VehicleType.values()) {
+            if (defaults[vehicleType.ordinal()] == null) {
+                throw new IllegalArgumentException("No all-lots tariff for " + vehicleType);
+            }
+        }
+        return new TariffBook(defaults, Map.copyOf(byLot));
+    }
+
+    // Price of a stay of `minutes` that began at `timeIn`, rounded to 2 decimal places
+    public double price(VehicleType vehicleType, String parkingLotId, LocalDateTime timeIn, long minutes) {
+        CompiledTariff tariff = null;
+        if (parkingLotId != null) {
+            CompiledTariff[] lotTariffs = byLot.get(parkingLotId);
+            tariff = lotTariffs != null ? lotTariffs[vehicleType.ordinal()] : null;
+        }
+        if (tariff == null) {
+            tariff = defaults[vehicleType.ordinal()];
+        }
+        return Math.round(tariff.price(timeIn, minutes) * 100.0) / 100.0;
+    }
+
+    public int lotCount() {
+        return byLot.size();
+    }
+}
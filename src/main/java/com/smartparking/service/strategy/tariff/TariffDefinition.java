@@ -0,0 +1,36 @@
+package com.smartparking.service.strategy.tariff;
+
+import com.smartparking.enums.VehicleType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Tariff for one vehicle type, either for a single lot or (parkingLotId null) for every lot
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TariffDefinition {
+    private String parkingLotId;
+    private VehicleType vehicleType;
+
+    // Rate per started hour outside every time window
+    private Double hourlyRate;
+
+    // Flat charge for stays shorter than minimumChargeMinutes
+    @Builder.Default
+    private double minimumCharge = 5.0;
+    @Builder.Default
+    private int minimumChargeMinutes = 30;
+
+    // Most that can be charged for each 24 hours from entry; null for no cap
+    private Double dailyCap;
+
+    // Time windows overriding hourlyRate; later windows win where they overlap
+    @Builder.Default
+    private List<TariffRate> rates = new ArrayList<>();
+}
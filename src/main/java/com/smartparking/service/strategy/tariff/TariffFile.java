@@ -0,0 +1,14 @@
+package com.smartparking.service.strategy.tariff;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// JSON shape of the file named by parking.tariffs.file
+@Data
+@NoArgsConstructor
+public class TariffFile {
+    private List<TariffDefinition> tariffs = new ArrayList<>();
+}
@@ -0,0 +1,85 @@
+package com.smartparking.service.strategy.tariff;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartparking.enums.VehicleType;
+import com.smartparking.service.strategy.PricingStrategy;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+// Prices stays from the tariff file (parking.tariffs.file), or from the built-in flat rates when none
+// is configured. The file is compiled into a TariffBook up front and swapped in whole when it changes,
+// so pricing itself is a couple of array lookups and never sees a half-loaded tariff.
+@Component
+@Slf4j
+public class TariffPricingStrategy implements PricingStrategy {
+
+    private final ObjectMapper objectMapper;
+    private final Path tariffFile;
+
+    private volatile TariffBook book = TariffBook.builtIn();
+    private volatile FileTime loadedVersion;
+
+    public TariffPricingStrategy(ObjectMapper objectMapper,
+                                 @Value("${parking.tariffs.file:}") String tariffFile) {
+        this.objectMapper = objectMapper;
+        this.tariffFile = tariffFile.isBlank() ? null : Path.of(tariffFile);
+    }
+
+    // A broken file at startup is fatal rather than silently billing at the built-in rates
+    @PostConstruct
+    public void load() throws IOException {
+        if (tariffFile == null) {
+            log.info("No tariff file configured, using built-in hourly rates");
+            return;
+        }
+        loadedVersion = Files.getLastModifiedTime(tariffFile);
+        book = compile();
+        log.info("Loaded tariffs from {} ({} lot-specific)", tariffFile, book.lotCount());
+    }
+
+    // Picks up edits to the tariff file; a file that fails to compile leaves the current tariffs in place
+    @Scheduled(fixedDelayString = "${parking.tariffs.reload-interval-ms:30000}")
+    public void reloadIfChanged() {
+        if (tariffFile == null) {
+            return;
+        }
+        try {
+            FileTime version = Files.getLastModifiedTime(tariffFile);
+            if (version.equals(loadedVersion)) {
+                return;
+            }
+            book = compile();
+            loadedVersion = version;
+            log.info("Reloaded tariffs from {} ({} lot-specific)", tariffFile, book.lotCount());
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not reload tariffs from {}, keeping current tariffs: {}", tariffFile, e.getMessage());
+        }
+    }
+
+    @Override
+    public double calculatePrice(VehicleType vehicleType, String parkingLotId,
+                                 LocalDateTime timeIn, LocalDateTime timeOut) {
+        return book.price(vehicleType, parkingLotId, timeIn, Duration.between(timeIn, timeOut).toMinutes());
+    }
+
+    // Without an entry time the stay is taken to end now, priced at the all-lots tariff
+    @Override
+    public double calculatePrice(VehicleType vehicleType, Duration parkingDuration) {
+        LocalDateTime timeIn = LocalDateTime.now().minus(parkingDuration);
+        return book.price(vehicleType, null, timeIn, parkingDuration.toMinutes());
+    }
+
+    private TariffBook compile() throws IOException {
+        return TariffBook.compile(objectMapper.readValue(tariffFile.toFile(), TariffFile.class));
+    }
+}
@@ -0,0 +1,22 @@
+package com.smartparking.service.strategy.tariff;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+// Rate for hours starting inside [from, to) on the given days (all days when empty).
+// A window whose end is not after its start runs past midnight into the next day.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TariffRate {
+    private Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+    private LocalTime from;
+    private LocalTime to;
+    private Double hourlyRate;
+}
@@ -0,0 +1,45 @@
+package com.smartparking.service.topology;
+
+import com.smartparking.entity.ParkingLot;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.springframework.stereotype.Component;
+
+// Parking lots, floors and each lot's floor list are served from Hibernate's second-level cache
+// (see CacheRegions). Writes that change a lot's floors evict its entries here once they commit.
+@Component
+public class TopologyCache {
+
+    private static final String FLOORS_ROLE = ParkingLot.class.getName() + ".floors";
+
+    private final SessionFactoryImplementor sessionFactory;
+
+    public TopologyCache(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+    }
+
+    // Call once the write is committed; evicting earlier lets a read before the commit cache the old floor list
+    public void evictParkingLot(String parkingLotId) {
+        sessionFactory.getCache().evictEntityData(ParkingLot.class, parkingLotId);
+        sessionFactory.getCache().evictCollectionData(FLOORS_ROLE, parkingLotId);
+    }
+
+    public long hits(String region) {
+        CacheRegionStatistics statistics = statistics(region);
+        return statistics != null ? statistics.getHitCount() : 0;
+    }
+
+    public long misses(String region) {
+        CacheRegionStatistics statistics = statistics(region);
+        return statistics != null ? statistics.getMissCount() : 0;
+    }
+
+    // Null when the second-level cache is switched off
+    private CacheRegionStatistics statistics(String region) {
+        if (sessionFactory.getCache().getRegion(region) == null) {
+            return null;
+        }
+        return sessionFactory.getStatistics().getDomainDataRegionStatistics(region);
+    }
+}
@@ -0,0 +1,35 @@
+package com.smartparking.service.user;
+
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseAuthException;
+import com.google.firebase.auth.UserRecord;
+import com.smartparking.dto.response.UserInfoResponse;
+import com.smartparking.exception.ResourceNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+public class FirebaseUserDirectory implements UserDirectory {
+
+    @Override
+    public UserInfoResponse findUser(String uid) {
+        try {
+            UserRecord userRecord = FirebaseAuth.getInstance().getUser(uid);
+            return mapToUserInfoResponse(userRecord);
+        } catch (FirebaseAuthException e) {
+            log.error("Error getting user info for uid: {}", uid, e);
+            throw new ResourceNotFoundException("User not found with uid: " + uid);
+        }
+    }
+
+    private UserInfoResponse mapToUserInfoResponse(UserRecord userRecord) {
+        return UserInfoResponse.builder()
+                .uid(userRecord.getUid())
+                .email(userRecord.getEmail())
+                .displayName(userRecord.getDisplayName())
+                .photoUrl(userRecord.getPhotoUrl())
+                .emailVerified(userRecord.isEmailVerified())
+                .build();
+    }
+}
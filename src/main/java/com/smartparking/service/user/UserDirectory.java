@@ -0,0 +1,11 @@
+package com.smartparking.service.user;
+
+import com.smartparking.dto.response.UserInfoResponse;
+
+// Source of user profiles. FirebaseUserDirectory is the real one; tests and benchmarks can
+// register a @Primary local implementation to avoid network calls.
+public interface UserDirectory {
+
+    // Throws ResourceNotFoundException when the uid is unknown
+    UserInfoResponse findUser(String uid);
+}
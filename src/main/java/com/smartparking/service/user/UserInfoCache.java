@@ -0,0 +1,118 @@
+package com.smartparking.service.user;
+
+import com.smartparking.dto.response.UserInfoResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// TTL- and size-bounded cache in front of the UserDirectory. Concurrent misses for the same
+// uid share one lookup; failed lookups are not cached.
+@Component
+public class UserInfoCache {
+
+    private final UserDirectory userDirectory;
+    private final long ttlMillis;
+    private final int maxEntries;
+
+    private final Map<String, CompletableFuture<CachedUser>> users = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public UserInfoCache(UserDirectory userDirectory,
+                         @Value("${auth.user-cache.ttl-ms:300000}") long ttlMillis,
+                         @Value("${auth.user-cache.max-entries:10000}") int maxEntries) {
+        this.userDirectory = userDirectory;
+        this.ttlMillis = ttlMillis;
+        this.maxEntries = maxEntries;
+    }
+
+    public UserInfoResponse get(String uid) {
+        while (true) {
+            CompletableFuture<CachedUser> existing = users.get(uid);
+            if (existing != null) {
+                if (!existing.isDone() || existing.isCompletedExceptionally()) {
+                    // Another request is already fetching this uid
+                    hits.increment();
+                    return await(existing);
+                }
+                CachedUser cached = existing.join();
+                if (cached.expiresAtMillis() > System.currentTimeMillis()) {
+                    hits.increment();
+                    return cached.user();
+                }
+                users.remove(uid, existing);
+                continue;
+            }
+
+            CompletableFuture<CachedUser> loading = new CompletableFuture<>();
+            if (users.putIfAbsent(uid, loading) != null) {
+                continue;
+            }
+            misses.increment();
+            evictIfFull();
+            try {
+                UserInfoResponse user = userDirectory.findUser(uid);
+                loading.complete(new CachedUser(user, System.currentTimeMillis() + ttlMillis));
+                return user;
+            } catch (RuntimeException e) {
+                users.remove(uid, loading);
+                loading.completeExceptionally(e);
+                throw e;
+            }
+        }
+    }
+
+    public void invalidate(String uid) {
+        users.remove(uid);
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public int size() {
+        return users.size();
+    }
+
+    private void evictIfFull() {
+        if (users.size() <= maxEntries) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        users.values().removeIf(future -> future.isDone() && !future.isCompletedExceptionally()
+                && future.join().expiresAtMillis() <= now);
+
+        // Still full of live entries: drop arbitrary ones rather than grow without bound
+        Iterator<CompletableFuture<CachedUser>> it = users.values().iterator();
+        while (users.size() > maxEntries && it.hasNext()) {
+            if (it.next().isDone()) {
+                it.remove();
+            }
+        }
+    }
+
+    private static UserInfoResponse await(CompletableFuture<CachedUser> future) {
+        try {
+            return future.join().user();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record CachedUser(UserInfoResponse user, long expiresAtMillis) {
+    }
+}
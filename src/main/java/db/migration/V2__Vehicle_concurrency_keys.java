@@ -0,0 +1,86 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+// Optimistic-lock versions on slots and vehicles, and the active-registration key that allows one
+// PARKED row per plate. The old schema made vehicle_registration itself unique, which blocks a
+// returning vehicle from getting a new row. That constraint's name depends on whether the table came
+// from schema.sql or from ddl-auto, so it is looked up by its columns rather than by name.
+public class V2__Vehicle_concurrency_keys extends BaseJavaMigration {
+
+    private static final String UNIQUE_CONSTRAINTS =
+            "SELECT tc.constraint_name, kcu.column_name"
+                    + " FROM information_schema.table_constraints tc"
+                    + " JOIN information_schema.key_column_usage kcu"
+                    + " ON kcu.constraint_schema = tc.constraint_schema"
+                    + " AND kcu.constraint_name = tc.constraint_name"
+                    + " AND kcu.table_name = tc.table_name"
+                    + " WHERE tc.constraint_type = 'UNIQUE' AND tc.table_schema = ? AND LOWER(tc.table_name) = ?";
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        boolean mysql = isMySql(connection);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE parking_slots ADD COLUMN version BIGINT DEFAULT 0 NOT NULL");
+            statement.execute("ALTER TABLE vehicles ADD COLUMN version BIGINT DEFAULT 0 NOT NULL");
+            // vehicle_registration while PARKED, NULL otherwise (maintained by the application)
+            statement.execute("ALTER TABLE vehicles ADD COLUMN active_registration VARCHAR(255)");
+
+            String quote = connection.getMetaData().getIdentifierQuoteString();
+            for (String name : uniqueConstraintsOn(connection, mysql, "vehicles", Set.of("vehicle_registration"))) {
+                // MySQL implements a unique constraint as an index and drops it as one
+                statement.execute("ALTER TABLE vehicles DROP " + (mysql ? "INDEX " : "CONSTRAINT ")
+                        + quote + name + quote);
+            }
+
+            statement.execute("ALTER TABLE vehicles"
+                    + " ADD CONSTRAINT uk_vehicles_active_registration UNIQUE (active_registration)");
+        }
+    }
+
+    private static List<String> uniqueConstraintsOn(Connection connection, boolean mysql, String table,
+                                                    Set<String> columns) throws SQLException {
+        // MySQL reports the database as the catalog; H2 and PostgreSQL as the schema
+        String schema = mysql ? connection.getCatalog() : connection.getSchema();
+        Map<String, Set<String>> constraints = new HashMap<>();
+        try (PreparedStatement query = connection.prepareStatement(UNIQUE_CONSTRAINTS)) {
+            query.setString(1, schema);
+            query.setString(2, table);
+            try (ResultSet rows = query.executeQuery()) {
+                while (rows.next()) {
+                    constraints.computeIfAbsent(rows.getString(1), k -> new TreeSet<>())
+                            .add(rows.getString(2).toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+
+        List<String> matching = new ArrayList<>();
+        constraints.forEach((name, constrained) -> {
+            if (constrained.equals(columns)) {
+                matching.add(name);
+            }
+        });
+        return matching;
+    }
+
+    private static boolean isMySql(Connection connection) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        return metaData.getDatabaseProductName().toLowerCase(Locale.ROOT).contains("mysql");
+    }
+}
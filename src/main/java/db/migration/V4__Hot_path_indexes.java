@@ -0,0 +1,82 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Indexes behind slot allocation, entry/exit lookups, vehicle listings and floor lookups. Databases
+// baselined from ddl-auto=update or built from the old schema.sql may already have some of them under
+// other names, and MySQL has no CREATE INDEX IF NOT EXISTS, so each index is only created when no
+// existing index already starts with its columns.
+public class V4__Hot_path_indexes extends BaseJavaMigration {
+
+    private record IndexDefinition(String name, String table, List<String> columns) {
+    }
+
+    private static final List<IndexDefinition> INDEXES = List.of(
+            // Allocator load and slot listings filtered by type and status within a floor
+            new IndexDefinition("idx_parking_slots_type_status_floor", "parking_slots",
+                    List.of("slot_type", "slot_status", "floor_id")),
+            // Slots of a floor; PostgreSQL and H2 do not index foreign keys on their own
+            new IndexDefinition("idx_parking_slots_floor_id", "parking_slots", List.of("floor_id")),
+            // Entry/exit lookup by plate and status
+            new IndexDefinition("idx_vehicles_registration_status", "vehicles",
+                    List.of("vehicle_registration", "status")),
+            // Listings filtered by status and ordered by entry time
+            new IndexDefinition("idx_vehicles_status_time_in", "vehicles", List.of("status", "time_in")),
+            // Floor lookup within a lot, and the lot's floors
+            new IndexDefinition("idx_floors_lot_floor_no", "floors", List.of("parking_lot_id", "floor_no")));
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            for (IndexDefinition index : INDEXES) {
+                if (!isCovered(connection, index)) {
+                    statement.execute("CREATE INDEX " + index.name() + " ON " + index.table()
+                            + " (" + String.join(", ", index.columns()) + ")");
+                }
+            }
+        }
+    }
+
+    private static boolean isCovered(Connection connection, IndexDefinition index) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        String table = metaData.storesUpperCaseIdentifiers()
+                ? index.table().toUpperCase(Locale.ROOT)
+                : index.table();
+
+        Map<String, TreeMap<Short, String>> existing = new HashMap<>();
+        try (ResultSet rows = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(),
+                table, false, true)) {
+            while (rows.next()) {
+                String name = rows.getString("INDEX_NAME");
+                String column = rows.getString("COLUMN_NAME");
+                if (name != null && column != null) {
+                    existing.computeIfAbsent(name, k -> new TreeMap<>())
+                            .put(rows.getShort("ORDINAL_POSITION"), column.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+
+        for (TreeMap<Short, String> columns : existing.values()) {
+            List<String> ordered = new ArrayList<>(columns.values());
+            if (ordered.size() >= index.columns().size()
+                    && ordered.subList(0, index.columns().size()).equals(index.columns())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
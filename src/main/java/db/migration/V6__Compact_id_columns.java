@@ -0,0 +1,115 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+// Narrows id and foreign-key columns from VARCHAR(255) to VARCHAR(36), the length of the time-ordered
+// UUIDs the application generates. Existing ids are left as they are: random and time-ordered UUIDs
+// coexist, and only rows inserted from now on are appended in key order. Only the declared width
+// shrinks: VARCHAR stores the actual length, so keys take the same space as before. Each database
+// spells the type change differently, hence a Java migration.
+public class V6__Compact_id_columns extends BaseJavaMigration {
+
+    private record IdColumn(String table, String column, boolean nullable) {
+    }
+
+    private record ForeignKey(String name, String table, String column, String referencedTable,
+                              String referencedColumn, String onDelete) {
+    }
+
+    // Referenced keys come before the columns that point at them
+    private static final List<IdColumn> COLUMNS = List.of(
+            new IdColumn("employees", "emp_id", false),
+            new IdColumn("parking_lots", "parking_lot_id", false),
+            new IdColumn("floors", "floor_id", false),
+            new IdColumn("floors", "parking_lot_id", false),
+            new IdColumn("parking_slots", "slot_id", false),
+            new IdColumn("parking_slots", "floor_id", false),
+            new IdColumn("vehicles", "vehicle_id", false),
+            new IdColumn("vehicles", "assigned_slot_id", true),
+            new IdColumn("parking_sessions", "session_id", false),
+            new IdColumn("parking_sessions", "vehicle_id", false),
+            new IdColumn("parking_sessions", "slot_id", true),
+            new IdColumn("billing_recalculations", "recalculation_id", false),
+            new IdColumn("billing_recalculations", "last_session_id", true),
+            new IdColumn("usage_rollups", "rollup_id", false),
+            new IdColumn("usage_rollups", "parking_lot_id", false),
+            new IdColumn("usage_rollups", "floor_id", false));
+
+    // Optional PostgreSQL views from schema.sql; they block the type change and can be re-created from there
+    private static final List<String> VIEWS =
+            List.of("active_parking_sessions", "parking_lot_occupancy", "available_slots_by_type");
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        String product = connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT);
+        try (Statement statement = connection.createStatement()) {
+            if (product.contains("mysql")) {
+                // MySQL and MariaDB refuse to change a column a foreign key uses, even with
+                // FOREIGN_KEY_CHECKS=0, so the keys are dropped around the change and re-created as they were
+                List<ForeignKey> foreignKeys = foreignKeys(connection);
+                for (ForeignKey key : foreignKeys) {
+                    statement.execute("ALTER TABLE " + key.table() + " DROP FOREIGN KEY " + key.name());
+                }
+                for (IdColumn id : COLUMNS) {
+                    statement.execute("ALTER TABLE " + id.table() + " MODIFY " + id.column() + " VARCHAR(36)"
+                            + (id.nullable() ? "" : " NOT NULL"));
+                }
+                for (ForeignKey key : foreignKeys) {
+                    statement.execute("ALTER TABLE " + key.table() + " ADD CONSTRAINT " + key.name()
+                            + " FOREIGN KEY (" + key.column() + ") REFERENCES " + key.referencedTable()
+                            + " (" + key.referencedColumn() + ")" + key.onDelete());
+                }
+            } else if (product.contains("postgresql")) {
+                for (String view : VIEWS) {
+                    statement.execute("DROP VIEW IF EXISTS " + view);
+                }
+                alterAll(statement, "TYPE");
+            } else {
+                alterAll(statement, "SET DATA TYPE");
+            }
+        }
+    }
+
+    // Single-column foreign keys of the narrowed tables; names differ between schema.sql and ddl-auto tables
+    private static List<ForeignKey> foreignKeys(Connection connection) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        Set<String> tables = new LinkedHashSet<>();
+        COLUMNS.forEach(id -> tables.add(id.table()));
+
+        List<ForeignKey> keys = new ArrayList<>();
+        for (String table : tables) {
+            try (ResultSet rows = metaData.getImportedKeys(connection.getCatalog(), null, table)) {
+                while (rows.next()) {
+                    String onDelete = switch (rows.getShort("DELETE_RULE")) {
+                        case DatabaseMetaData.importedKeyCascade -> " ON DELETE CASCADE";
+                        case DatabaseMetaData.importedKeySetNull -> " ON DELETE SET NULL";
+                        default -> "";
+                    };
+                    keys.add(new ForeignKey(rows.getString("FK_NAME"), table, rows.getString("FKCOLUMN_NAME"),
+                            rows.getString("PKTABLE_NAME"), rows.getString("PKCOLUMN_NAME"), onDelete));
+                }
+            }
+        }
+        return keys;
+    }
+
+    private static void alterAll(Statement statement, String typeClause) throws SQLException {
+        for (IdColumn id : COLUMNS) {
+            statement.execute("ALTER TABLE " + id.table() + " ALTER COLUMN " + id.column() + " "
+                    + typeClause + " VARCHAR(36)");
+        }
+    }
+}
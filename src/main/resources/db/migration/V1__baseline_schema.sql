@@ -0,0 +1,76 @@
+-- The schema as it stood before migrations were introduced: the tables of schema.sql at that point,
+-- with 255-character ids and a unique plate per vehicle row. Databases that already have these tables
+-- are baselined at version 1 and skip this script; everything after it is applied to both.
+-- The datetime placeholder is TIMESTAMP(6) on H2 and PostgreSQL and DATETIME(6) on MySQL.
+
+CREATE TABLE employees (
+    emp_id VARCHAR(255) PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    ph_no VARCHAR(255),
+    dob DATE,
+    gender VARCHAR(50) CHECK (gender IN ('MALE', 'FEMALE', 'OTHER')),
+    photo VARCHAR(500),
+    address VARCHAR(500),
+    roles VARCHAR(255) NOT NULL,
+    created_at ${datetime},
+    updated_at ${datetime}
+);
+
+CREATE INDEX idx_employees_email ON employees (email);
+
+CREATE TABLE parking_lots (
+    parking_lot_id VARCHAR(255) PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    address VARCHAR(500),
+    total_floors INTEGER,
+    created_at ${datetime},
+    updated_at ${datetime}
+);
+
+CREATE INDEX idx_parking_lots_name ON parking_lots (name);
+
+CREATE TABLE floors (
+    floor_id VARCHAR(255) PRIMARY KEY,
+    floor_no INTEGER NOT NULL,
+    total_slots INTEGER NOT NULL,
+    allotted_slots INTEGER NOT NULL,
+    parking_lot_id VARCHAR(255) NOT NULL,
+    CONSTRAINT fk_floors_parking_lot
+        FOREIGN KEY (parking_lot_id) REFERENCES parking_lots (parking_lot_id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_floors_parking_lot_id ON floors (parking_lot_id);
+CREATE INDEX idx_floors_lot_floor_no ON floors (parking_lot_id, floor_no);
+
+CREATE TABLE parking_slots (
+    slot_id VARCHAR(255) PRIMARY KEY,
+    slot_status VARCHAR(50) NOT NULL CHECK (slot_status IN ('AVAILABLE', 'OCCUPIED', 'RESERVED', 'MAINTENANCE')),
+    slot_type VARCHAR(50) NOT NULL CHECK (slot_type IN ('TWO_WHEELER', 'FOUR_WHEELER', 'HEAVY_VEHICLE')),
+    floor_id VARCHAR(255) NOT NULL,
+    CONSTRAINT fk_parking_slots_floor
+        FOREIGN KEY (floor_id) REFERENCES floors (floor_id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_parking_slots_floor_id ON parking_slots (floor_id);
+CREATE INDEX idx_parking_slots_status ON parking_slots (slot_status);
+CREATE INDEX idx_parking_slots_type ON parking_slots (slot_type);
+CREATE INDEX idx_parking_slots_status_type ON parking_slots (slot_status, slot_type);
+
+CREATE TABLE vehicles (
+    vehicle_id VARCHAR(255) PRIMARY KEY,
+    vehicle_type VARCHAR(50) NOT NULL CHECK (vehicle_type IN ('TWO_WHEELER', 'FOUR_WHEELER', 'HEAVY_VEHICLE')),
+    vehicle_registration VARCHAR(255) NOT NULL UNIQUE,
+    time_in ${datetime} NOT NULL,
+    time_out ${datetime},
+    status VARCHAR(50) NOT NULL CHECK (status IN ('PARKED', 'EXITED', 'IN_PROCESS')),
+    bill_amt DOUBLE PRECISION,
+    assigned_slot_id VARCHAR(255) UNIQUE,
+    CONSTRAINT fk_vehicles_parking_slot
+        FOREIGN KEY (assigned_slot_id) REFERENCES parking_slots (slot_id) ON DELETE SET NULL
+);
+
+CREATE INDEX idx_vehicles_registration ON vehicles (vehicle_registration);
+CREATE INDEX idx_vehicles_status ON vehicles (status);
+CREATE INDEX idx_vehicles_time_in ON vehicles (time_in);
+CREATE INDEX idx_vehicles_assigned_slot ON vehicles (assigned_slot_id);
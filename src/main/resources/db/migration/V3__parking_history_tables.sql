@@ -0,0 +1,52 @@
+-- Visit history, billing re-pricing runs and usage rollups. Ids are created at the old 255-character
+-- width to match the tables they reference; V6 narrows every id column together.
+-- The datetime placeholder is TIMESTAMP(6) on H2 and PostgreSQL and DATETIME(6) on MySQL.
+
+-- Append-only history: one row per completed visit, written on exit
+CREATE TABLE parking_sessions (
+    session_id VARCHAR(255) PRIMARY KEY,
+    vehicle_id VARCHAR(255) NOT NULL,
+    slot_id VARCHAR(255),
+    vehicle_type VARCHAR(50) NOT NULL CHECK (vehicle_type IN ('TWO_WHEELER', 'FOUR_WHEELER', 'HEAVY_VEHICLE')),
+    time_in ${datetime} NOT NULL,
+    time_out ${datetime} NOT NULL,
+    amount DOUBLE PRECISION,
+    CONSTRAINT fk_parking_sessions_vehicle FOREIGN KEY (vehicle_id) REFERENCES vehicles (vehicle_id)
+);
+
+-- Revenue and utilisation scans by exit time, and the visit history of one vehicle
+CREATE INDEX idx_parking_sessions_time_out ON parking_sessions (time_out);
+CREATE INDEX idx_parking_sessions_vehicle_time_in ON parking_sessions (vehicle_id, time_in);
+
+-- Re-pricing runs; last_time_out/last_session_id is the resume position
+CREATE TABLE billing_recalculations (
+    recalculation_id VARCHAR(255) PRIMARY KEY,
+    range_from ${datetime} NOT NULL,
+    range_to ${datetime} NOT NULL,
+    status VARCHAR(50) NOT NULL CHECK (status IN ('PENDING', 'RUNNING', 'COMPLETED', 'CANCELLED', 'FAILED', 'INTERRUPTED')),
+    sessions_processed BIGINT NOT NULL,
+    sessions_changed BIGINT NOT NULL,
+    amount_delta DOUBLE PRECISION NOT NULL,
+    last_time_out ${datetime},
+    last_session_id VARCHAR(255),
+    error VARCHAR(1000),
+    created_at ${datetime} NOT NULL,
+    finished_at ${datetime}
+);
+
+-- Hour and day buckets per floor and slot type; analytics endpoints read only this table
+CREATE TABLE usage_rollups (
+    rollup_id VARCHAR(255) PRIMARY KEY,
+    granularity VARCHAR(50) NOT NULL CHECK (granularity IN ('HOUR', 'DAY')),
+    bucket_start ${datetime} NOT NULL,
+    parking_lot_id VARCHAR(255) NOT NULL,
+    floor_id VARCHAR(255) NOT NULL,
+    slot_type VARCHAR(50) NOT NULL CHECK (slot_type IN ('TWO_WHEELER', 'FOUR_WHEELER', 'HEAVY_VEHICLE')),
+    entries BIGINT NOT NULL,
+    exits BIGINT NOT NULL,
+    occupied_minutes DOUBLE PRECISION NOT NULL,
+    revenue DOUBLE PRECISION NOT NULL,
+    CONSTRAINT uk_usage_rollups_bucket UNIQUE (granularity, bucket_start, floor_id, slot_type)
+);
+
+CREATE INDEX idx_usage_rollups_lot_bucket ON usage_rollups (granularity, parking_lot_id, bucket_start);
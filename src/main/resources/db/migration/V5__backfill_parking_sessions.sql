@@ -0,0 +1,16 @@
+-- Brings rows written before the active-registration key and the parking_sessions table up to date.
+-- Both statements only touch such rows, so on a new database this script does nothing.
+-- The uuid placeholder is the database's random UUID function.
+
+-- Backfill the active-session key for vehicles parked before the column existed
+UPDATE vehicles SET active_registration = vehicle_registration
+WHERE status = 'PARKED' AND active_registration IS NULL;
+
+-- Move visits finished before parking_sessions existed into the history table, then free their slot link
+INSERT INTO parking_sessions (session_id, vehicle_id, slot_id, vehicle_type, time_in, time_out, amount)
+SELECT ${uuid}, v.vehicle_id, v.assigned_slot_id, v.vehicle_type, v.time_in, v.time_out, v.bill_amt
+FROM vehicles v
+WHERE v.status = 'EXITED' AND v.time_out IS NOT NULL
+  AND NOT EXISTS (SELECT 1 FROM parking_sessions s WHERE s.vehicle_id = v.vehicle_id);
+UPDATE vehicles SET assigned_slot_id = NULL
+WHERE status = 'EXITED' AND assigned_slot_id IS NOT NULL;
@@ -0,0 +1,6 @@
+-- The instance holding a re-pricing run and when it last confirmed it is alive, so that a starting
+-- instance only interrupts its own leftover runs and runs whose owner has stopped refreshing them.
+-- The datetime placeholder is TIMESTAMP(6) on H2 and PostgreSQL and DATETIME(6) on MySQL.
+
+ALTER TABLE billing_recalculations ADD COLUMN owner_instance VARCHAR(255);
+ALTER TABLE billing_recalculations ADD COLUMN heartbeat_at ${datetime};
@@ -0,0 +1,5 @@
+-- Development login for the frontend. Only on Flyway's locations in the default (H2 file) configuration.
+INSERT INTO employees (emp_id, name, email, ph_no, roles, address, created_at, updated_at)
+SELECT 'emp-bms-001', 'BMS Admin', 'bms@gmail.com', '9876543210', 'ADMIN', 'Admin Office, Main Building',
+       CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+WHERE NOT EXISTS (SELECT 1 FROM employees WHERE email = 'bms@gmail.com');
@@ -0,0 +1,73 @@
+package com.smartparking.service;
+
+import com.smartparking.entity.BillingRecalculation;
+import com.smartparking.enums.RecalculationStatus;
+import com.smartparking.repository.BillingRecalculationRepository;
+import com.smartparking.service.impl.BillingRecalculationServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Startup recovery with several instances on one database: this instance's leftover runs and runs whose
+// owner stopped refreshing them are interrupted, while a live instance's runs are left alone.
+@SpringBootTest
+@ActiveProfiles({"h2", "test"})
+class BillingRecalculationRecoveryTest {
+
+    @Autowired
+    private BillingRecalculationServiceImpl billingRecalculationService;
+
+    @Autowired
+    private BillingRecalculationRepository recalculationRepository;
+
+    private final List<String> created = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        recalculationRepository.deleteAllById(created);
+    }
+
+    @Test
+    void interruptsOnlyLeftoverAndStaleRuns() {
+        LocalDateTime now = LocalDateTime.now();
+        String leftover = save("test-instance", RecalculationStatus.RUNNING, now);
+        String live = save("other-instance", RecalculationStatus.RUNNING, now);
+        String queuedOnLive = save("other-instance", RecalculationStatus.PENDING, now.minusSeconds(30));
+        String stale = save("stopped-instance", RecalculationStatus.RUNNING, now.minusMinutes(10));
+        String unowned = save(null, RecalculationStatus.PENDING, null);
+        String finished = save("stopped-instance", RecalculationStatus.COMPLETED, now.minusMinutes(10));
+
+        billingRecalculationService.afterSingletonsInstantiated();
+
+        assertThat(status(leftover)).isEqualTo(RecalculationStatus.INTERRUPTED);
+        assertThat(status(live)).isEqualTo(RecalculationStatus.RUNNING);
+        assertThat(status(queuedOnLive)).isEqualTo(RecalculationStatus.PENDING);
+        assertThat(status(stale)).isEqualTo(RecalculationStatus.INTERRUPTED);
+        assertThat(status(unowned)).isEqualTo(RecalculationStatus.INTERRUPTED);
+        assertThat(status(finished)).isEqualTo(RecalculationStatus.COMPLETED);
+    }
+
+    private String save(String owner, RecalculationStatus status, LocalDateTime heartbeatAt) {
+        String id = recalculationRepository.save(BillingRecalculation.builder()
+                .rangeFrom(LocalDateTime.of(2024, 1, 1, 0, 0))
+                .rangeTo(LocalDateTime.of(2024, 2, 1, 0, 0))
+                .status(status)
+                .ownerInstance(owner)
+                .heartbeatAt(heartbeatAt)
+                .build()).getRecalculationId();
+        created.add(id);
+        return id;
+    }
+
+    private RecalculationStatus status(String recalculationId) {
+        return recalculationRepository.findById(recalculationId).orElseThrow().getStatus();
+    }
+}
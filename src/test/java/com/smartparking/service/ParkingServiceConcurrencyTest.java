@@ -0,0 +1,115 @@
+package com.smartparking.service;
+
+import com.smartparking.dto.request.FloorLayoutRequest;
+import com.smartparking.dto.request.ParkingLotProvisionRequest;
+import com.smartparking.dto.request.VehicleEntryRequest;
+import com.smartparking.dto.response.VehicleResponse;
+import com.smartparking.enums.SlotStatus;
+import com.smartparking.enums.SlotType;
+import com.smartparking.enums.VehicleType;
+import com.smartparking.exception.NoAvailableSlotException;
+import com.smartparking.repository.ParkingSlotRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Hundreds of simultaneous entries against the in-memory allocator and the conditional slot update:
+// no slot may be handed out twice, and every successful entry must leave exactly one slot OCCUPIED.
+@SpringBootTest
+@ActiveProfiles({"h2", "test"})
+@Slf4j
+class ParkingServiceConcurrencyTest {
+
+    // More threads than pooled connections, so entries queue and race for the same slots
+    private static final int THREADS = 32;
+    private static final int PROVISIONED_SLOTS = 300;
+    // Entries beyond the free slots, so the run also covers the sold-out path under contention
+    private static final int OVERFLOW = 100;
+
+    @Autowired
+    private ParkingService parkingService;
+
+    @Autowired
+    private ParkingLotService parkingLotService;
+
+    @Autowired
+    private ParkingSlotRepository parkingSlotRepository;
+
+    @Test
+    void concurrentEntriesNeverShareASlot() throws Exception {
+        parkingLotService.provisionParkingLot(ParkingLotProvisionRequest.builder()
+                .name("Concurrency Test Lot")
+                .floors(List.of(FloorLayoutRequest.builder()
+                        .floorNo(0)
+                        .slotConfiguration(Map.of(SlotType.HEAVY_VEHICLE, PROVISIONED_SLOTS))
+                        .build()))
+                .build());
+        int freeSlots = parkingSlotRepository
+                .findBySlotStatusAndSlotType(SlotStatus.AVAILABLE, SlotType.HEAVY_VEHICLE).size();
+        int occupiedBefore = parkingSlotRepository
+                .findBySlotStatusAndSlotType(SlotStatus.OCCUPIED, SlotType.HEAVY_VEHICLE).size();
+        int entries = freeSlots + OVERFLOW;
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<VehicleResponse>> results = new ArrayList<>(entries);
+        try {
+            for (int i = 0; i < entries; i++) {
+                VehicleEntryRequest request = VehicleEntryRequest.builder()
+                        .vehicleType(VehicleType.HEAVY_VEHICLE)
+                        .vehicleRegistration(String.format("CC-%05d", i))
+                        .build();
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return parkingService.parkVehicle(request);
+                }));
+            }
+
+            long startedAt = System.nanoTime();
+            start.countDown();
+
+            Set<String> slotIds = new HashSet<>();
+            int parked = 0;
+            int soldOut = 0;
+            for (Future<VehicleResponse> result : results) {
+                try {
+                    VehicleResponse response = result.get(2, TimeUnit.MINUTES);
+                    slotIds.add(response.getAssignedSlotId());
+                    parked++;
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(NoAvailableSlotException.class);
+                    soldOut++;
+                }
+            }
+            double seconds = (System.nanoTime() - startedAt) / 1e9;
+            log.info("{} concurrent entries on {} threads: {} parked, {} sold out in {} s ({} entries/s)",
+                    entries, THREADS, parked, soldOut, String.format("%.2f", seconds),
+                    String.format("%.0f", entries / seconds));
+
+            assertThat(slotIds).hasSize(parked);
+            assertThat(parked).isEqualTo(freeSlots);
+            assertThat(soldOut).isEqualTo(OVERFLOW);
+            assertThat(parkingSlotRepository
+                    .findBySlotStatusAndSlotType(SlotStatus.OCCUPIED, SlotType.HEAVY_VEHICLE))
+                    .hasSize(occupiedBefore + parked);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
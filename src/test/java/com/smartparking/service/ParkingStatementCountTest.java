@@ -0,0 +1,102 @@
+package com.smartparking.service;
+
+import com.smartparking.dto.request.FloorLayoutRequest;
+import com.smartparking.dto.request.ParkingLotProvisionRequest;
+import com.smartparking.dto.request.VehicleEntryRequest;
+import com.smartparking.dto.response.ParkingLotResponse;
+import com.smartparking.enums.SlotType;
+import com.smartparking.enums.VehicleStatus;
+import com.smartparking.enums.VehicleType;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Statements Hibernate prepares per call, counted through its statistics. The listings must not grow
+// with the number of lots, floors or slots; the bounds are what each path needs today, so a lazy
+// association slipping back into a loop fails here. Plain JdbcTemplate statements are not counted.
+@SpringBootTest
+@ActiveProfiles({"h2", "test"})
+class ParkingStatementCountTest {
+
+    @Autowired
+    private ParkingService parkingService;
+
+    @Autowired
+    private ParkingLotService parkingLotService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void parkAndExitUseAFixedNumberOfStatements() {
+        VehicleEntryRequest request = VehicleEntryRequest.builder()
+                .vehicleType(VehicleType.TWO_WHEELER)
+                .vehicleRegistration("SC-0001")
+                .build();
+
+        long park = count(() -> parkingService.parkVehicle(request));
+        long exit = count(() -> parkingService.exitVehicle("SC-0001"));
+        // Re-entry reuses the vehicle row, which the first entry had to insert
+        long repark = count(() -> parkingService.parkVehicle(request));
+
+        // Plate lookup, conditional slot update, vehicle insert
+        assertThat(park).isLessThanOrEqualTo(3);
+        // Plate lookup, slot release, session insert, vehicle update
+        assertThat(exit).isLessThanOrEqualTo(4);
+        assertThat(repark).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void listingsDoNotGrowWithTheTopology() {
+        long lotsBefore = count(parkingLotService::getAllParkingLots);
+
+        ParkingLotResponse lot = parkingLotService.provisionParkingLot(ParkingLotProvisionRequest.builder()
+                .name("Statement Count Lot")
+                .floors(List.of(floor(0), floor(1), floor(2)))
+                .build());
+
+        long lots = count(parkingLotService::getAllParkingLots);
+        long floors = count(() -> parkingLotService.getFloorsByParkingLotId(lot.getParkingLotId()));
+        String floorId = parkingLotService.getFloorsByParkingLotId(lot.getParkingLotId()).get(0).getFloorId();
+        long slots = count(() -> parkingLotService.getSlots(floorId, null, null, null, 500));
+        long vehicles = count(() -> parkingService.getVehicles(VehicleStatus.PARKED, null, null, null, 500));
+
+        // A lot with three more floors and 240 more slots costs no extra statement
+        assertThat(lots).isLessThanOrEqualTo(lotsBefore);
+        // Lots with their floors, then the slot rows of all those floors in one query
+        assertThat(lots).isLessThanOrEqualTo(2);
+        assertThat(floors).isLessThanOrEqualTo(1);
+        assertThat(slots).isLessThanOrEqualTo(1);
+        assertThat(vehicles).isLessThanOrEqualTo(1);
+    }
+
+    private long count(Runnable call) {
+        statistics.clear();
+        call.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private static FloorLayoutRequest floor(int floorNo) {
+        return FloorLayoutRequest.builder()
+                .floorNo(floorNo)
+                .slotConfiguration(Map.of(SlotType.TWO_WHEELER, 40, SlotType.FOUR_WHEELER, 40))
+                .build();
+    }
+}
@@ -0,0 +1,178 @@
+package com.smartparking.service.pricing;
+
+import com.smartparking.enums.VehicleType;
+import com.smartparking.service.strategy.tariff.TariffBook;
+import com.smartparking.service.strategy.tariff.TariffDefinition;
+import com.smartparking.service.strategy.tariff.TariffFile;
+import com.smartparking.service.strategy.tariff.TariffRate;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Checks the compiled lookup tables against a literal reading of the tariff rules: walk the stay hour by
+// hour, take the rate of the last window covering each hour's first minute, and cap each 24 hours from
+// entry. Rates and caps are multiples of 0.5, so both sides add exactly and must agree to the cent.
+class CompiledTariffTest {
+
+    private static final String LOT = "lot-a";
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Test
+    void flatTariffMatchesHourByHourSum() {
+        assertMatchesNaive(TariffDefinition.builder()
+                .vehicleType(VehicleType.FOUR_WHEELER)
+                .hourlyRate(20.0)
+                .build());
+    }
+
+    @Test
+    void timeOfDayTariffMatchesHourByHourSum() {
+        assertMatchesNaive(windowed(null));
+    }
+
+    @Test
+    void cappedTimeOfDayTariffMatchesHourByHourSum() {
+        assertMatchesNaive(windowed(55.5));
+    }
+
+    @Test
+    void capBelowOneHourMatchesHourByHourSum() {
+        assertMatchesNaive(TariffDefinition.builder()
+                .vehicleType(VehicleType.FOUR_WHEELER)
+                .hourlyRate(20.0)
+                .dailyCap(12.5)
+                .rates(List.of(rate(Set.of(), 9, 0, 17, 30, 35.0)))
+                .build());
+    }
+
+    private static TariffDefinition windowed(Double dailyCap) {
+        List<TariffRate> rates = new ArrayList<>();
+        // Daytime peak on weekdays, an overnight window that crosses midnight and the week boundary,
+        // and a weekend window that overlaps both and wins where it does
+        rates.add(rate(EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY), 8, 30, 18, 15, 30.5));
+        rates.add(rate(Set.of(), 22, 0, 6, 45, 4.0));
+        rates.add(rate(EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY), 10, 0, 23, 0, 12.0));
+        return TariffDefinition.builder()
+                .vehicleType(VehicleType.FOUR_WHEELER)
+                .hourlyRate(18.5)
+                .minimumCharge(5.0)
+                .minimumChargeMinutes(20)
+                .dailyCap(dailyCap)
+                .rates(rates)
+                .build();
+    }
+
+    private static void assertMatchesNaive(TariffDefinition definition) {
+        // The same tariff for all lots and, with a different rate, for one lot, to cover the lot lookup
+        TariffDefinition lotDefinition = copyForLot(definition);
+        TariffFile file = new TariffFile();
+        List<TariffDefinition> tariffs = new ArrayList<>();
+        for (VehicleType vehicleType : VehicleType.values()) {
+            tariffs.add(vehicleType == definition.getVehicleType() ? definition
+                    : TariffDefinition.builder().vehicleType(vehicleType).hourlyRate(1.0).build());
+        }
+        tariffs.add(lotDefinition);
+        file.setTariffs(tariffs);
+        TariffBook book = TariffBook.compile(file);
+
+        Random random = new Random(17);
+        for (int i = 0; i < 3000; i++) {
+            LocalDateTime timeIn = EPOCH.plusMinutes(random.nextInt(4 * 7 * 24 * 60)).plusSeconds(random.nextInt(60));
+            long minutes = sampleMinutes(random);
+
+            assertThat(book.price(definition.getVehicleType(), null, timeIn, minutes))
+                    .as("%s for %d min", timeIn, minutes)
+                    .isEqualTo(naive(definition, timeIn, minutes));
+            assertThat(book.price(definition.getVehicleType(), LOT, timeIn, minutes))
+                    .as("%s for %d min at %s", timeIn, minutes, LOT)
+                    .isEqualTo(naive(lotDefinition, timeIn, minutes));
+        }
+    }
+
+    // Short stays around the minimum charge, stays ending on hour and day boundaries, and stays of
+    // up to three weeks, so whole weeks and partial days are both exercised
+    private static long sampleMinutes(Random random) {
+        return switch (random.nextInt(5)) {
+            case 0 -> random.nextInt(90);
+            case 1 -> (1 + random.nextInt(72)) * 60L;
+            case 2 -> (1 + random.nextInt(21)) * 24 * 60L + random.nextInt(3) - 1;
+            case 3 -> random.nextInt(3 * 24 * 60);
+            default -> random.nextInt(21 * 24 * 60);
+        };
+    }
+
+    private static double naive(TariffDefinition definition, LocalDateTime timeIn, long minutes) {
+        if (minutes < definition.getMinimumChargeMinutes()) {
+            return definition.getMinimumCharge();
+        }
+        LocalDateTime start = timeIn.truncatedTo(ChronoUnit.MINUTES);
+        long startedHours = (minutes + 59) / 60;
+        double total = 0;
+        double day = 0;
+        for (long hour = 0; hour < startedHours; hour++) {
+            if (hour > 0 && hour % 24 == 0) {
+                total += capped(definition, day);
+                day = 0;
+            }
+            day += rateAt(definition, start.plusHours(hour));
+        }
+        total += capped(definition, day);
+        return Math.round(total * 100.0) / 100.0;
+    }
+
+    private static double capped(TariffDefinition definition, double day) {
+        return definition.getDailyCap() == null ? day : Math.min(definition.getDailyCap(), day);
+    }
+
+    private static double rateAt(TariffDefinition definition, LocalDateTime time) {
+        double rate = definition.getHourlyRate();
+        for (TariffRate window : definition.getRates()) {
+            if (covers(window, time)) {
+                rate = window.getHourlyRate();
+            }
+        }
+        return rate;
+    }
+
+    private static boolean covers(TariffRate window, LocalDateTime time) {
+        LocalTime at = time.toLocalTime();
+        if (window.getTo().isAfter(window.getFrom())) {
+            return onDay(window, time.getDayOfWeek()) && !at.isBefore(window.getFrom()) && at.isBefore(window.getTo());
+        }
+        // Past midnight: the part after `from` belongs to today, the part before `to` to yesterday's window
+        return (onDay(window, time.getDayOfWeek()) && !at.isBefore(window.getFrom()))
+                || (onDay(window, time.getDayOfWeek().minus(1)) && at.isBefore(window.getTo()));
+    }
+
+    private static boolean onDay(TariffRate window, DayOfWeek day) {
+        return window.getDays() == null || window.getDays().isEmpty() || window.getDays().contains(day);
+    }
+
+    private static TariffRate rate(Set<DayOfWeek> days, int fromHour, int fromMinute, int toHour, int toMinute,
+                                   double hourlyRate) {
+        return new TariffRate(days.isEmpty() ? EnumSet.noneOf(DayOfWeek.class) : EnumSet.copyOf(days),
+                LocalTime.of(fromHour, fromMinute), LocalTime.of(toHour, toMinute), hourlyRate);
+    }
+
+    private static TariffDefinition copyForLot(TariffDefinition definition) {
+        return TariffDefinition.builder()
+                .parkingLotId(LOT)
+                .vehicleType(definition.getVehicleType())
+                .hourlyRate(definition.getHourlyRate() + 2.5)
+                .minimumCharge(definition.getMinimumCharge())
+                .minimumChargeMinutes(definition.getMinimumChargeMinutes())
+                .dailyCap(definition.getDailyCap())
+                .rates(definition.getRates())
+                .build();
+    }
+}
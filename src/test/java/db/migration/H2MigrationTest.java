@@ -0,0 +1,26 @@
+package db.migration;
+
+import java.util.Map;
+
+class H2MigrationTest extends MigrationTestSupport {
+
+    @Override
+    protected String url() {
+        return "jdbc:h2:mem:migration-test;DB_CLOSE_DELAY=-1";
+    }
+
+    @Override
+    protected String username() {
+        return "sa";
+    }
+
+    @Override
+    protected String password() {
+        return "";
+    }
+
+    @Override
+    protected Map<String, String> placeholders() {
+        return Map.of("datetime", "TIMESTAMP(6)", "uuid", "RANDOM_UUID()");
+    }
+}
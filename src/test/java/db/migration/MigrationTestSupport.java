@@ -0,0 +1,157 @@
+package db.migration;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Runs the migrations on one database vendor, both from an empty schema and as the upgrade a live
+// database gets: the pre-series schema (V1) with rows in it, baselined at version 1 the way
+// baseline-on-migrate treats a database Flyway has never seen, then everything after V1.
+abstract class MigrationTestSupport {
+
+    private static final List<String> ID_COLUMNS = List.of(
+            "employees.emp_id", "parking_lots.parking_lot_id", "floors.floor_id", "floors.parking_lot_id",
+            "parking_slots.slot_id", "parking_slots.floor_id", "vehicles.vehicle_id", "vehicles.assigned_slot_id",
+            "parking_sessions.session_id", "parking_sessions.vehicle_id", "parking_sessions.slot_id",
+            "billing_recalculations.recalculation_id", "billing_recalculations.last_session_id",
+            "usage_rollups.rollup_id", "usage_rollups.parking_lot_id", "usage_rollups.floor_id");
+
+    protected abstract String url();
+
+    protected abstract String username();
+
+    protected abstract String password();
+
+    // The profile's placeholders for this vendor
+    protected abstract Map<String, String> placeholders();
+
+    @BeforeEach
+    void emptySchema() {
+        flyway().cleanDisabled(false).load().clean();
+    }
+
+    @Test
+    void migratesAnEmptySchema() throws SQLException {
+        flyway().load().migrate();
+
+        assertUpgradedSchema();
+    }
+
+    @Test
+    void upgradesAPreSeriesDatabase() throws SQLException {
+        flyway().target("1").load().migrate();
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO parking_lots (parking_lot_id, name, total_floors) VALUES ('lot-001', 'Main', 1)");
+            statement.execute("INSERT INTO floors VALUES ('floor-001', 0, 2, 1, 'lot-001')");
+            statement.execute("INSERT INTO parking_slots VALUES ('slot-1', 'OCCUPIED', 'FOUR_WHEELER', 'floor-001')");
+            statement.execute("INSERT INTO parking_slots VALUES ('slot-2', 'AVAILABLE', 'FOUR_WHEELER', 'floor-001')");
+            statement.execute("INSERT INTO vehicles VALUES ('v-1', 'FOUR_WHEELER', 'PARKED-1',"
+                    + " CURRENT_TIMESTAMP, NULL, 'PARKED', NULL, 'slot-1')");
+            statement.execute("INSERT INTO vehicles VALUES ('v-2', 'FOUR_WHEELER', 'EXITED-1',"
+                    + " CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 'EXITED', 20.0, 'slot-2')");
+            // A database from before migrations has no history table; baseline-on-migrate marks it as V1
+            String quote = connection.getMetaData().getIdentifierQuoteString();
+            statement.execute("DROP TABLE " + quote + "flyway_schema_history" + quote);
+        }
+        flyway().baselineOnMigrate(true).baselineVersion("1").load().migrate();
+
+        assertUpgradedSchema();
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            assertThat(string(statement, "SELECT active_registration FROM vehicles WHERE vehicle_id = 'v-1'"))
+                    .isEqualTo("PARKED-1");
+            assertThat(string(statement, "SELECT assigned_slot_id FROM vehicles WHERE vehicle_id = 'v-2'")).isNull();
+            assertThat(string(statement, "SELECT slot_id FROM parking_sessions WHERE vehicle_id = 'v-2'"))
+                    .isEqualTo("slot-2");
+        }
+    }
+
+    private void assertUpgradedSchema() throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            for (String column : ID_COLUMNS) {
+                String[] parts = column.split("\\.");
+                assertThat(columnLength(connection, parts[0], parts[1])).as(column).isEqualTo(36);
+            }
+            assertThat(hasIndexOn(connection, "parking_slots", List.of("slot_type", "slot_status", "floor_id")))
+                    .isTrue();
+            assertThat(hasIndexOn(connection, "vehicles", List.of("vehicle_registration", "status"))).isTrue();
+
+            // A plate may have many rows but only one of them PARKED
+            statement.execute("INSERT INTO vehicles (vehicle_id, vehicle_type, vehicle_registration, time_in, status,"
+                    + " active_registration) VALUES ('v-10', 'TWO_WHEELER', 'DUP-1', CURRENT_TIMESTAMP, 'PARKED', 'DUP-1')");
+            statement.execute("INSERT INTO vehicles (vehicle_id, vehicle_type, vehicle_registration, time_in, status)"
+                    + " VALUES ('v-11', 'TWO_WHEELER', 'DUP-1', CURRENT_TIMESTAMP, 'EXITED')");
+            assertThatThrownBy(() -> statement.execute("UPDATE vehicles SET active_registration = 'DUP-1'"
+                    + " WHERE vehicle_id = 'v-11'")).isInstanceOf(SQLException.class);
+            assertThat(string(statement, "SELECT vehicle_id FROM vehicles WHERE version = 0 AND vehicle_id = 'v-11'"))
+                    .isEqualTo("v-11");
+        }
+    }
+
+    private FluentConfiguration flyway() {
+        return Flyway.configure()
+                .dataSource(url(), username(), password())
+                .locations("classpath:db/migration")
+                .placeholders(placeholders());
+    }
+
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection(url(), username(), password());
+    }
+
+    private static String string(Statement statement, String sql) throws SQLException {
+        try (ResultSet rows = statement.executeQuery(sql)) {
+            assertThat(rows.next()).as(sql).isTrue();
+            return rows.getString(1);
+        }
+    }
+
+    private static int columnLength(Connection connection, String table, String column) throws SQLException {
+        String sql = "SELECT character_maximum_length FROM information_schema.columns"
+                + " WHERE table_schema = ? AND LOWER(table_name) = ? AND LOWER(column_name) = ?";
+        try (PreparedStatement query = connection.prepareStatement(sql)) {
+            query.setString(1, schema(connection));
+            query.setString(2, table);
+            query.setString(3, column);
+            try (ResultSet rows = query.executeQuery()) {
+                assertThat(rows.next()).as(table + "." + column).isTrue();
+                return rows.getInt(1);
+            }
+        }
+    }
+
+    private static boolean hasIndexOn(Connection connection, String table, List<String> columns) throws SQLException {
+        String name = connection.getMetaData().storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT) : table;
+        Map<String, TreeMap<Short, String>> indexes = new HashMap<>();
+        try (ResultSet rows = connection.getMetaData().getIndexInfo(connection.getCatalog(), connection.getSchema(),
+                name, false, true)) {
+            while (rows.next()) {
+                if (rows.getString("INDEX_NAME") != null && rows.getString("COLUMN_NAME") != null) {
+                    indexes.computeIfAbsent(rows.getString("INDEX_NAME"), k -> new TreeMap<>())
+                            .put(rows.getShort("ORDINAL_POSITION"), rows.getString("COLUMN_NAME").toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return indexes.values().stream().anyMatch(index -> List.copyOf(index.values()).equals(columns));
+    }
+
+    private static String schema(Connection connection) throws SQLException {
+        String product = connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT);
+        return product.contains("mysql") || product.contains("mariadb") ? connection.getCatalog() : connection.getSchema();
+    }
+}
@@ -0,0 +1,35 @@
+package db.migration;
+
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Map;
+
+// Placeholders as in application-prod.properties
+@Testcontainers(disabledWithoutDocker = true)
+class MySqlMigrationTest extends MigrationTestSupport {
+
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    @Override
+    protected String url() {
+        return MYSQL.getJdbcUrl();
+    }
+
+    @Override
+    protected String username() {
+        return MYSQL.getUsername();
+    }
+
+    @Override
+    protected String password() {
+        return MYSQL.getPassword();
+    }
+
+    @Override
+    protected Map<String, String> placeholders() {
+        return Map.of("datetime", "DATETIME(6)", "uuid", "UUID()");
+    }
+}
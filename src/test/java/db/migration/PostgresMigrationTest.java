@@ -0,0 +1,35 @@
+package db.migration;
+
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Map;
+
+// Placeholders as in application-render.properties
+@Testcontainers(disabledWithoutDocker = true)
+class PostgresMigrationTest extends MigrationTestSupport {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16");
+
+    @Override
+    protected String url() {
+        return POSTGRES.getJdbcUrl();
+    }
+
+    @Override
+    protected String username() {
+        return POSTGRES.getUsername();
+    }
+
+    @Override
+    protected String password() {
+        return POSTGRES.getPassword();
+    }
+
+    @Override
+    protected Map<String, String> placeholders() {
+        return Map.of("datetime", "TIMESTAMP(6)", "uuid", "CAST(gen_random_uuid() AS VARCHAR(36))");
+    }
+}